@@ -61,6 +61,7 @@ dependencies {
         bundledPlugin("org.jetbrains.plugins.yaml")
 
         testFramework(TestFrameworkType.JUnit5)
+        testFramework(TestFrameworkType.Platform)
     }
 
     implementation("jakarta.validation:jakarta.validation-api:3.1.0")
@@ -69,6 +70,8 @@ dependencies {
     implementation("org.springframework.boot", "spring-boot", "3.3.4")
 
     testImplementation("org.mockito", "mockito-core", "2.12.0")
+    // Light fixtures of the platform refer to JUnit 4 classes, even when they are used from JUnit 5 tests.
+    testImplementation("junit", "junit", "4.13.2")
     testImplementation(platform("org.junit:junit-bom:5.11.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
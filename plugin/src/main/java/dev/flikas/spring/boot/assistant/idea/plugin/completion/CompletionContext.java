@@ -0,0 +1,32 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.completion;
+
+import com.intellij.codeInsight.completion.CompletionParameters;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Things resolved from the {@link CompletionParameters} once per completion invocation,
+ * so that the following layers (completion service, value providers, etc.) do not have to resolve them again.
+ *
+ * @param module       The module that the file being completed belongs to.
+ * @param index        Snapshot of the module's metadata index, at the time completion is invoked.
+ * @param keyName      The full name of the key being completed (key completion), or the key whose value
+ *                     is being completed (value completion), without the user input. Maybe empty.
+ * @param propertyName The parsed {@link #keyName}.
+ * @param queryString  The user input for completion.
+ */
+public record CompletionContext(
+    @NotNull CompletionParameters completionParameters,
+    @NotNull Module module,
+    @NotNull MetadataIndex index,
+    @NotNull String keyName,
+    @NotNull PropertyName propertyName,
+    @NotNull String queryString
+) {
+  public @NotNull Project project() {
+    return module.getProject();
+  }
+}
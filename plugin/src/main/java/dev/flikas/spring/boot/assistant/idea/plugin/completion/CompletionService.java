@@ -1,6 +1,5 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.completion;
 
-import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.CompletionResultSet;
 import com.intellij.codeInsight.completion.JavaMethodCallElement;
 import com.intellij.codeInsight.completion.JavaPsiClassReferenceElement;
@@ -10,21 +9,28 @@ import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
 import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.codeInsight.lookup.VariableLookupItem;
-import com.intellij.openapi.application.ReadAction;
+import com.intellij.lang.java.JavaLanguage;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiVariable;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataGroup;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataHint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.NameSearchIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.NameTreeNode;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider.HandleAsValueProvider;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider.ValueProvider;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.value.ValueHint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
@@ -32,24 +38,29 @@ import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
 import in.oneton.idea.spring.assistant.plugin.misc.GenericUtil;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import static com.intellij.openapi.module.ModuleUtilCore.findModuleForPsiElement;
 import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationPropertyName.Form.UNIFORM;
 
 @Service(Service.Level.PROJECT)
 public final class CompletionService {
+  private static final Key<CachedValue<Map<String, BindingTargets>>> BINDING_TARGETS_CACHE_KEY =
+      Key.create("spring-boot-assistant.completion.binding-targets");
   private final Project project;
 
 
@@ -66,28 +77,26 @@ public final class CompletionService {
   /**
    * Retrieve candidates for configuration key completion.
    *
-   * @param parentName  The context property name for querying, must be existed, such as 'spring.security', can be null or empty
-   * @param queryString The user input for completion.
+   * @param context The context's key name is the parent for querying, such as 'spring.security', can be empty.
    */
-  public void findSuggestionForKey(
-      @NotNull CompletionParameters completionParameters, @NotNull CompletionResultSet resultSet,
-      @Nullable String parentName, String queryString
-  ) {
-    Module module = findModule(completionParameters);
-    Collection<MetadataItem> candidates = findProperty(module, parentName, queryString);
-    if (!candidates.isEmpty()) {
-      candidates.stream().map(metaItem -> switch (metaItem) {
-        case MetadataProperty property -> createLookupElement(parentName, property);
-        case MetadataGroup group -> createLookupElement(parentName, group);
-        default -> throw new IllegalStateException("Unexpected value: " + metaItem);
-      }).filter(Objects::nonNull).forEach(resultSet::addElement);
+  public void findSuggestionForKey(@NotNull CompletionContext context, @NotNull CompletionResultSet resultSet) {
+    PropertyName parentName = context.propertyName();
+    Collection<MetadataItem> candidates = findProperty(context);
+    Collection<MetadataItem> fuzzyCandidates = findPropertyByName(context, candidates);
+    if (!candidates.isEmpty() || !fuzzyCandidates.isEmpty()) {
+      candidates.stream().map(metaItem -> createLookupElement(parentName, metaItem))
+          .filter(Objects::nonNull).forEach(resultSet::addElement);
+      // Fuzzy candidates would be filtered out by the default matcher, as the query is not a prefix of them.
+      CompletionResultSet fuzzyResultSet = resultSet.withPrefixMatcher(
+          new PropertyNamePrefixMatcher(resultSet.getPrefixMatcher().getPrefix()));
+      fuzzyCandidates.stream().map(metaItem -> createLookupElement(parentName, metaItem))
+          .filter(Objects::nonNull).forEach(fuzzyResultSet::addElement);
       return;
     }
     // Or maybe user is asking suggestion for a Map key
-    MetadataProperty property = ModuleMetadataService.getInstance(module).getIndex().getProperty(parentName);
+    MetadataProperty property = context.index().getProperty(parentName);
     if (property != null && property.isMapType()) {
-      resultSet.addAllElements(completionForMapKey(
-          property, completionParameters, resultSet.getPrefixMatcher(), queryString));
+      completionForMapKey(property, context, resultSet.getPrefixMatcher(), resultSet::addAllElements);
     }
   }
 
@@ -95,58 +104,34 @@ public final class CompletionService {
   /**
    * Retrieve candidates for a property's value completion.
    *
-   * @param propertyName The context property name for querying value, must be existed.
-   * @param queryString  The user input for completion.
+   * @param context The context's key name is the property for querying value, must be existed.
    */
   public void findSuggestionForValue(
-      @NotNull CompletionParameters completionParameters,
-      @NotNull final CompletionResultSet completionResultSet,
-      @NotNull String propertyName, String queryString
-  ) {
+      @NotNull CompletionContext context, @NotNull final CompletionResultSet completionResultSet) {
     //If user is asking suggestion for an array value
-    PropertyName propName = PropertyName.adapt(propertyName);
+    PropertyName propName = context.propertyName();
     if (propName.isNumericIndex(propName.getNumberOfElements() - 1)) {
       propName = propName.chop(propName.getNumberOfElements() - 1);
-      propertyName = propName.toString();
     }
     completionResultSet.restartCompletionWhenNothingMatches();
     CompletionResultSet resultSet = completionResultSet.caseInsensitive();
-    Module module = findModule(completionParameters);
     PrefixMatcher prefixMatcher = resultSet.getPrefixMatcher();
-    List<LookupElement> hints = completionForValue(completionParameters, propertyName, prefixMatcher, queryString);
-    if (!hints.isEmpty()) {
-      resultSet.addAllElements(hints);
-      return;
-    }
-    // Maybe we are looking for a Map's value suggestion
-    String parentKey = propName.getParent().toString();
-    if (StringUtils.isNotBlank(parentKey)) {
-      MetadataIndex index = ModuleMetadataService.getInstance(module).getIndex();
-      MetadataProperty parent = index.getProperty(parentKey);
-      if (parent != null && parent.isMapType()) {
-        hints = completionForValue(completionParameters, parentKey, prefixMatcher, queryString);
-        if (!hints.isEmpty()) {
-          resultSet.addAllElements(hints);
-          return;
-        }
-      }
-      // If we have a property whose type is Map<String,?>, it can map to any depth of key,
-      // so let's find to the ancestors till find it, and use its value's hint.
-      parent = index.getNearestParentProperty(parentKey);
-      if (parent != null && parent.getFullType().filter(t -> PsiTypeUtils.isValueMap(project, t)).isPresent()) {
-        hints = completionForValue(completionParameters, parent.getNameStr(), prefixMatcher, queryString);
-        if (!hints.isEmpty()) {
-          resultSet.addAllElements(hints);
-        }
-      }
+    for (MetadataProperty target : resolveBindingTargets(context.module(), context.index(), propName)) {
+      // Hints may come in batches, the first ones are shown while the rest are being searched.
+      MutableBoolean found = new MutableBoolean();
+      completionForValue(context, target, prefixMatcher, hints -> {
+        if (hints.isEmpty()) return;
+        found.setTrue();
+        resultSet.addAllElements(hints);
+      });
+      if (found.isTrue()) return;
     }
   }
 
 
-  private Collection<MetadataItem> findProperty(
-      @NotNull Module module, @Nullable String parentName, String queryString) {
-    if (parentName == null) parentName = "";
-    NameTreeNode searchRoot = ModuleMetadataService.getInstance(module).getIndex().findInNameTrie(parentName.trim());
+  private Collection<MetadataItem> findProperty(@NotNull CompletionContext context) {
+    String queryString = context.queryString();
+    NameTreeNode searchRoot = context.index().findInNameTrie(context.propertyName());
     if (searchRoot == null || searchRoot.isIndexed()) {
       // we can't provide suggestion for an indexed key, user has to create the sub element then ask for suggestion.
       return Collections.emptySet();
@@ -180,55 +165,119 @@ public final class CompletionService {
   }
 
 
-  @NotNull
-  private Module findModule(CompletionParameters completionParameters) {
-    return Objects.requireNonNull(findModuleForPsiElement(completionParameters.getPosition()));
+  /**
+   * Find properties and groups under the parent whose relative name matches the query by substring or camel-hump,
+   * such as 'hikari' or 'maxpool' for 'spring.datasource.hikari.maximum-pool-size'.
+   */
+  private Collection<MetadataItem> findPropertyByName(
+      @NotNull CompletionContext context, Collection<MetadataItem> excludes) {
+    String queryString = context.queryString();
+    if (StringUtils.isBlank(queryString)) return Collections.emptySet();
+    PropertyName parent = context.propertyName();
+    if (parent.hasIndexedElement()) return Collections.emptySet();
+    Set<MetadataItem> result = new HashSet<>();
+    for (MetadataItem item : context.index().searchByName(parent, queryString)) {
+      if (excludes.contains(item)) continue;
+      PropertyName name = item.getName();
+      // The search is limited by a uniform path of the parent, make sure it is really a descendant.
+      if (!parent.isEmpty() && !parent.isAncestorOf(name)) continue;
+      PropertyName subName = name.subName(parent.getNumberOfElements());
+      // Same as findProperty, suggestion should not contain indexes.
+      if (subName.hasIndexedElement()) continue;
+      if (NameSearchIndex.matches(queryString, subName.toString())) {
+        result.add(item);
+      }
+    }
+    return result;
   }
 
 
-  private List<LookupElement> completionForMapKey(
-      MetadataProperty property, @NotNull CompletionParameters completionParameters,
-      @Nullable PrefixMatcher prefixMatcher, String queryString
+  /**
+   * Resolve properties that the value of the key may be bound to, in the order of priority:
+   * <ol>
+   *   <li>The property of the key itself.</li>
+   *   <li>The parent property if it is a Map, we are looking for a Map's value suggestion.</li>
+   *   <li>The nearest ancestor property whose type is Map&lt;String,?&gt;, as it can map to any depth of key.</li>
+   * </ol>
+   * All of them are resolved in one walk of the name trie, so a concrete key also resolves properties declared
+   * with a map key or index wildcard, e.g. {@code my.map.foo.enabled} resolves {@code my.map[*].enabled}.
+   * <p>
+   * The result is cached per key in the module, until the module's metadata or java structure are changed.
+   */
+  private List<MetadataProperty> resolveBindingTargets(Module module, MetadataIndex index, PropertyName key) {
+    List<MetadataProperty> path = index.getPropertiesOnPath(key);
+    Map<String, BindingTargets> cache = CachedValuesManager.getManager(project).getCachedValue(module,
+        BINDING_TARGETS_CACHE_KEY, () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+            ModuleMetadataService.getInstance(module).getModificationTracker(),
+            PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE)), false);
+    BindingTargets cached = cache.get(key.toString());
+    if (cached != null && cached.isResolvedFrom(path)) {
+      return cached.targets();
+    }
+    Set<MetadataProperty> targets = new LinkedHashSet<>();
+    int size = path.size();
+    if (size > 0 && path.get(size - 1) != null) {
+      targets.add(path.get(size - 1));
+    }
+    if (size > 1) {
+      MetadataProperty parent = path.get(size - 2);
+      if (parent != null && parent.isMapType()) {
+        targets.add(parent);
+      }
+      for (int i = size - 2; i >= 0; i--) {
+        MetadataProperty ancestor = path.get(i);
+        if (ancestor == null) continue;
+        if (ancestor.getFullType().filter(t -> PsiTypeUtils.isValueMap(project, t)).isPresent()) {
+          targets.add(ancestor);
+        }
+        break;
+      }
+    }
+    List<MetadataProperty> result = List.copyOf(targets);
+    cache.put(key.toString(), new BindingTargets(path, result));
+    return result;
+  }
+
+
+  private void completionForMapKey(
+      MetadataProperty property, @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher,
+      @NotNull Consumer<List<LookupElement>> consumer
   ) {
-    return property.getKeyHint()
-        .map(h -> getHintValues(h, completionParameters, prefixMatcher, queryString))
-        .orElseGet(Collections::emptyList);
+    property.getKeyHint().ifPresent(h -> getHintValues(h, context, prefixMatcher, consumer));
   }
 
 
-  private @NotNull List<LookupElement> completionForValue(
-      @NotNull CompletionParameters completionParameters, @NotNull String propertyName,
-      @Nullable PrefixMatcher prefixMatcher, String queryString
+  private void completionForValue(
+      @NotNull CompletionContext context, @Nullable MetadataProperty property, @Nullable PrefixMatcher prefixMatcher,
+      @NotNull Consumer<List<LookupElement>> consumer
   ) {
-    Module module = findModule(completionParameters);
-    MetadataProperty property = ModuleMetadataService.getInstance(module).getIndex().getProperty(propertyName);
-    if (property == null) return List.of();
+    if (property == null) return;
     Optional<MetadataHint> hint = property.getHint();
     if (hint.isPresent()) {
-      return getHintValues(hint.get(), completionParameters, prefixMatcher, queryString);
+      getHintValues(hint.get(), context, prefixMatcher, consumer);
     } else {
       // If no hint available, try to provide completion for some specific property type like there is handle-as hint
-      PrefixMatcher matcher = getPrefixMatcher(prefixMatcher, queryString);
-      return HandleAsValueProvider.getHandler(property.getMetadata().getType())
-          .handle(completionParameters, matcher)
-          .stream().map(this::createLookupElement).toList();
+      PrefixMatcher matcher = getPrefixMatcher(prefixMatcher, context.queryString());
+      consumer.accept(HandleAsValueProvider.getHandler(property.getMetadata().getType())
+          .handle(context, matcher)
+          .stream().map(this::createLookupElement).toList());
     }
   }
 
 
   /**
-   * Use metadata hint - value providers to provide candidates.
+   * Use metadata hint - value providers to provide candidates, in batches as the providers find them.
    */
-  private List<LookupElement> getHintValues(
-      MetadataHint hint, CompletionParameters completionParameters,
-      @Nullable PrefixMatcher prefixMatcher, String queryString
+  private void getHintValues(
+      MetadataHint hint, CompletionContext context, @Nullable PrefixMatcher prefixMatcher,
+      Consumer<List<LookupElement>> consumer
   ) {
-    return Stream.concat(
-            hint.getValues().stream().map(ValueHint::toHint),
-            hint.getProviders().parallelStream().flatMap(vp ->
-                vp.provideValues(completionParameters, getPrefixMatcher(prefixMatcher, queryString)).stream())
-        ).map(this::createLookupElement)
-        .toList();
+    consumer.accept(hint.getValues().stream().map(ValueHint::toHint).map(this::createLookupElement).toList());
+    PrefixMatcher matcher = getPrefixMatcher(prefixMatcher, context.queryString());
+    for (ValueProvider provider : hint.getProviders()) {
+      provider.provideValues(context, matcher,
+          hints -> consumer.accept(hints.stream().map(this::createLookupElement).toList()));
+    }
   }
 
 
@@ -248,10 +297,9 @@ public final class CompletionService {
       case PsiMethod psiMethod ->
           new JavaMethodCallElement(psiMethod).setInsertHandler(YamlValueInsertHandler.INSTANCE);
       case null, default -> {
-        LookupElementBuilder le = ReadAction.compute(() ->
-            LookupElementBuilder.create(hint.value()).withIcon(hint.icon())
-                .withPsiElement(new SourceContainer(hint, project))
-                .withInsertHandler(YamlValueInsertHandler.INSTANCE));
+        LookupElementBuilder le = LookupElementBuilder.create(hint.value()).withIcon(hint.icon())
+            .withPsiElement(new SourceContainer(hint, project))
+            .withInsertHandler(YamlValueInsertHandler.INSTANCE);
         if (StringUtils.isNotBlank(hint.oneLineDescription())) {
           le = le.withTailText("(" + hint.oneLineDescription() + ")", true);
         }
@@ -266,7 +314,16 @@ public final class CompletionService {
   }
 
 
-  private LookupElement createLookupElement(String propertyNameAncestors, MetadataProperty property) {
+  private LookupElement createLookupElement(PropertyName propertyNameAncestors, MetadataItem metaItem) {
+    return switch (metaItem) {
+      case MetadataProperty property -> createLookupElement(propertyNameAncestors, property);
+      case MetadataGroup group -> createLookupElement(propertyNameAncestors, group);
+      default -> throw new IllegalStateException("Unexpected value: " + metaItem);
+    };
+  }
+
+
+  private LookupElement createLookupElement(PropertyName propertyNameAncestors, MetadataProperty property) {
     ConfigurationMetadata.Property.Deprecation deprecation = property.getMetadata().getDeprecation();
     if (deprecation != null && deprecation.getLevel() == ConfigurationMetadata.Property.Deprecation.Level.ERROR) {
       // Fully unsupported property should not be included in suggestions
@@ -281,25 +338,48 @@ public final class CompletionService {
     if (StringUtils.isNotBlank(property.getMetadata().getType())) {
       leb = leb.withTypeText(GenericUtil.shortenJavaType(property.getMetadata().getType()), true);
     }
-    return leb;
+    return withUsagePriority(leb, property);
   }
 
 
-  private LookupElement createLookupElement(String propertyNameAncestors, MetadataGroup group) {
-    return LookupElementBuilder.create(removeParent(propertyNameAncestors, group.getNameStr()))
+  private LookupElement createLookupElement(PropertyName propertyNameAncestors, MetadataGroup group) {
+    return withUsagePriority(LookupElementBuilder.create(removeParent(propertyNameAncestors, group.getNameStr()))
         .withIcon(group.getIcon().getSecond()).withPsiElement(new SourceContainer(group, project))
-        .withInsertHandler(YamlKeyInsertHandler.INSTANCE);
+        .withInsertHandler(YamlKeyInsertHandler.INSTANCE), group);
+  }
+
+
+  /**
+   * Keys that are frequently used in this project's configuration files go first.
+   */
+  private LookupElement withUsagePriority(LookupElement lookupElement, MetadataItem item) {
+    int usage = KeyUsageService.getInstance(project).getUsage(item);
+    return usage > 0 ? PrioritizedLookupElement.withPriority(lookupElement, usage) : lookupElement;
   }
 
 
-  private String removeParent(String parent, String name) {
-    PropertyName parentKey = PropertyName.adapt(parent);
+  private String removeParent(PropertyName parentKey, String name) {
     PropertyName key = PropertyName.adapt(name);
     assert parentKey.isAncestorOf(key) : "Invalid parent and child:" + parentKey + "," + key;
     return key.subName(parentKey.getNumberOfElements()).toString();
   }
 
 
+  /**
+   * @param path    Properties on the path of the key, used for validating the cache.
+   * @param targets Properties that the key's value may be bound to.
+   */
+  private record BindingTargets(List<MetadataProperty> path, List<MetadataProperty> targets) {
+    boolean isResolvedFrom(List<MetadataProperty> path) {
+      if (this.path.size() != path.size()) return false;
+      for (int i = 0; i < path.size(); i++) {
+        if (this.path.get(i) != path.get(i)) return false;
+      }
+      return true;
+    }
+  }
+
+
   private static @NotNull PrefixMatcher getPrefixMatcher(@Nullable PrefixMatcher prefixMatcher, String queryString) {
     return Objects.requireNonNullElseGet(prefixMatcher, () -> new CamelHumpMatcher(queryString, false));
   }
@@ -0,0 +1,112 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.completion;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import dev.flikas.spring.boot.assistant.idea.plugin.filetype.SpringBootConfigurationYamlFileType;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.PLUGIN_INDEX_NAMESPACE;
+
+/**
+ * Index of how many times a key appears in a spring configuration yaml file.
+ * <p>
+ * Both the key and its ancestors are counted, for example, {@code spring.datasource.url} counts for
+ * {@code spring}, {@code spring.datasource} and {@code spring.datasource.url}.
+ * Keys in sequences are not counted, as completion does not suggest indexed keys either.
+ */
+public class KeyUsageIndex extends FileBasedIndexExtension<String, Integer> {
+  public static final ID<String, Integer> NAME = ID.create(PLUGIN_INDEX_NAMESPACE + KeyUsageIndex.class.getSimpleName());
+
+
+  @Override
+  public @NotNull ID<String, Integer> getName() {
+    return NAME;
+  }
+
+
+  @Override
+  public @NotNull DataIndexer<String, Integer, FileContent> getIndexer() {
+    return inputData -> {
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof YAMLFile yamlFile)) return Collections.emptyMap();
+      return countUsages(yamlFile);
+    };
+  }
+
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public @NotNull DataExternalizer<Integer> getValueExternalizer() {
+    return EnumeratorIntegerDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+
+  @Override
+  public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(SpringBootConfigurationYamlFileType.INSTANCE);
+  }
+
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+
+  static @NotNull Map<String, Integer> countUsages(@NotNull YAMLFile yamlFile) {
+    Map<String, Integer> usages = new HashMap<>();
+    for (YAMLDocument document : yamlFile.getDocuments()) {
+      if (document.getTopLevelValue() instanceof YAMLMapping mapping) {
+        collectUsages(usages, PropertyName.EMPTY, mapping);
+      }
+    }
+    return usages;
+  }
+
+
+  private static void collectUsages(Map<String, Integer> usages, PropertyName parent, YAMLMapping mapping) {
+    for (YAMLKeyValue kv : mapping.getKeyValues()) {
+      String key = kv.getKeyText();
+      if (StringUtils.isBlank(key)) continue;
+      PropertyName name = PropertyName.adapt(parent.isEmpty() ? key : parent + "." + key);
+      if (name.isEmpty() || name.hasIndexedElement()) continue;
+      // A key may be a compound one like 'spring.datasource', count each of its elements.
+      for (int i = parent.getNumberOfElements() + 1; i <= name.getNumberOfElements(); i++) {
+        usages.merge(name.chop(i).toString(), 1, Integer::sum);
+      }
+      if (kv.getValue() instanceof YAMLMapping child) {
+        collectUsages(usages, name, child);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.completion;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Usage statistics of configuration keys in the project's spring configuration yaml files,
+ * used for ranking key completion candidates.
+ *
+ * @see KeyUsageIndex
+ */
+@Service(Service.Level.PROJECT)
+public final class KeyUsageService {
+  private final Project project;
+  private final ModificationTracker indexTracker;
+
+
+  public KeyUsageService(Project project) {
+    this.project = project;
+    this.indexTracker = () -> FileBasedIndex.getInstance().getIndexModificationStamp(KeyUsageIndex.NAME, project);
+  }
+
+
+  public static KeyUsageService getInstance(Project project) {
+    return project.getService(KeyUsageService.class);
+  }
+
+
+  /**
+   * @return How many times the item's key appears in the project's configuration files, 0 if index is not ready.
+   */
+  public int getUsage(@NotNull MetadataItem item) {
+    if (DumbService.isDumb(project)) return 0;
+    String key = item.getName().toString();
+    Map<String, Integer> usages = getUsages();
+    Integer usage = usages.get(key);
+    if (usage == null) {
+      usage = countUsages(key);
+      usages.put(key, usage);
+    }
+    return usage;
+  }
+
+
+  /**
+   * Usages of the keys that are ranked since the index is changed last time.
+   * <p>
+   * Keys are counted on demand, so that an edit to any configuration file costs only reading the candidates of the
+   * next completion, rather than all keys in the index.
+   */
+  private Map<String, Integer> getUsages() {
+    return CachedValuesManager.getManager(project).getCachedValue(project, () ->
+        CachedValueProvider.Result.create(new ConcurrentHashMap<String, Integer>(), indexTracker));
+  }
+
+
+  private int countUsages(String key) {
+    int total = 0;
+    for (Integer count : FileBasedIndex.getInstance().getValues(
+        KeyUsageIndex.NAME, key, GlobalSearchScope.projectScope(project))) {
+      total += count;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,29 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.completion;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.NameSearchIndex;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A PrefixMatcher for property keys, matches by substring or camel-hump of the whole key,
+ * so that {@code maxpool} can match {@code hikari.maximum-pool-size}.
+ *
+ * @see NameSearchIndex#matches(String, String)
+ */
+class PropertyNamePrefixMatcher extends PrefixMatcher {
+  PropertyNamePrefixMatcher(String prefix) {
+    super(prefix);
+  }
+
+
+  @Override
+  public boolean prefixMatches(@NotNull String name) {
+    return NameSearchIndex.matches(getPrefix(), name);
+  }
+
+
+  @Override
+  public @NotNull PrefixMatcher cloneWithPrefix(@NotNull String prefix) {
+    return new PropertyNamePrefixMatcher(prefix);
+  }
+}
@@ -3,7 +3,6 @@ package dev.flikas.spring.boot.assistant.idea.plugin.completion;
 import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.CompletionProvider;
 import com.intellij.codeInsight.completion.CompletionResultSet;
-import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.DumbModeBlockedFunctionality;
 import com.intellij.openapi.project.DumbService;
@@ -12,6 +11,8 @@ import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ProcessingContext;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -37,7 +38,7 @@ class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
       return;
     }
     Project project = element.getProject();
-    if (ReadAction.compute(() -> DumbService.isDumb(project))) {
+    if (DumbService.isDumb(project)) {
       DumbService.getInstance(project).showDumbModeNotificationForFunctionality("Spring configuration completion",
           DumbModeBlockedFunctionality.CodeCompletion);
       return;
@@ -58,6 +59,9 @@ class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
     ancestorKeys = StringUtils.removeEnd(ancestorKeys, queryString);
     queryString = StringUtils.remove(queryString, DUMMY_IDENTIFIER);
     queryString = StringUtils.removeEnd(queryString, DUMMY_IDENTIFIER_TRIMMED);
+    CompletionContext completionContext = new CompletionContext(completionParameters, module,
+        ModuleMetadataService.getInstance(module).getIndex(), ancestorKeys, PropertyName.adapt(ancestorKeys),
+        queryString);
     CompletionService service = CompletionService.getInstance(project);
     YAMLKeyValue nearestKeyValue = PsiTreeUtil.getParentOfType(context, YAMLKeyValue.class, false);
     YAMLSequenceItem nearestSequenceItem = PsiTreeUtil.getParentOfType(context, YAMLSequenceItem.class, false);
@@ -65,10 +69,10 @@ class YamlCompletionProvider extends CompletionProvider<CompletionParameters> {
              || (nearestSequenceItem != null && YAMLUtil.psiAreAtTheSameLine(nearestSequenceItem, context)))
         && context instanceof YAMLScalar) {
       // User is asking completion for property value
-      service.findSuggestionForValue(completionParameters, resultSet, ancestorKeys, queryString);
+      service.findSuggestionForValue(completionContext, resultSet);
     } else {
       // Key completion
-      service.findSuggestionForKey(completionParameters, resultSet, ancestorKeys, queryString);
+      service.findSuggestionForKey(completionContext, resultSet);
     }
   }
 }
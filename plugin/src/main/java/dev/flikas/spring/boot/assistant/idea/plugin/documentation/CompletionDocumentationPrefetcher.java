@@ -0,0 +1,40 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.documentation;
+
+import com.intellij.codeInsight.lookup.Lookup;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupEvent;
+import com.intellij.codeInsight.lookup.LookupListener;
+import com.intellij.codeInsight.lookup.LookupManagerListener;
+import com.intellij.openapi.project.Project;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.SourceContainer;
+import dev.flikas.spring.boot.assistant.idea.plugin.documentation.service.DocumentationService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Render the document of the selected property or group in the completion list in background,
+ * so the quick documentation popup of completion shows up without rendering on demand.
+ */
+public class CompletionDocumentationPrefetcher implements LookupManagerListener {
+  private final Project project;
+
+
+  public CompletionDocumentationPrefetcher(Project project) {
+    this.project = project;
+  }
+
+
+  @Override
+  public void activeLookupChanged(@Nullable Lookup oldLookup, @Nullable Lookup newLookup) {
+    if (newLookup == null) return;
+    newLookup.addLookupListener(new LookupListener() {
+      @Override
+      public void currentItemChanged(@NotNull LookupEvent event) {
+        LookupElement item = event.getItem();
+        if (item != null && item.getPsiElement() instanceof SourceContainer sc) {
+          sc.getSourceMetadataItem().ifPresent(DocumentationService.getInstance(project)::prefetchDoc);
+        }
+      }
+    });
+  }
+}
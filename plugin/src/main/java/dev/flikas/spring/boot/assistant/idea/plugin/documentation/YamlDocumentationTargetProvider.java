@@ -11,7 +11,9 @@ import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataGroup
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiElementUtils;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.YamlKeyPaths;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.yaml.YAMLUtil;
@@ -41,7 +43,7 @@ public class YamlDocumentationTargetProvider implements PsiDocumentationTargetPr
     if (keyValue == null) return null;
     if (!YAMLUtil.psiAreAtTheSameLine(element, keyValue)) return null;
 
-    String propertyName = YAMLUtil.getConfigFullName(keyValue);
+    PropertyName propertyName = YamlKeyPaths.getPropertyName(keyValue);
     ModuleMetadataService service = module.getService(ModuleMetadataService.class);
     @Nullable MetadataItem propertyOrGroup = service.getIndex().getPropertyOrGroup(propertyName);
     if (propertyOrGroup == null) return null;
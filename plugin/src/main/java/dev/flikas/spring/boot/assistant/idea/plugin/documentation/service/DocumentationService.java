@@ -2,26 +2,36 @@ package dev.flikas.spring.boot.assistant.idea.plugin.documentation.service;
 
 
 import com.intellij.lang.documentation.DocumentationMarkup;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.text.HtmlBuilder;
 import com.intellij.openapi.util.text.HtmlChunk;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJvmMember;
 import com.intellij.psi.PsiType;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataGroup;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiElementUtils;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
 import in.oneton.idea.spring.assistant.plugin.misc.GenericUtil;
 import kotlin.Pair;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.intellij.lang.documentation.DocumentationMarkup.BOTTOM_ELEMENT;
 import static com.intellij.lang.documentation.DocumentationMarkup.CONTENT_ELEMENT;
@@ -32,7 +42,26 @@ import static com.intellij.lang.documentation.DocumentationMarkup.SECTION_CONTEN
 import static com.intellij.lang.documentation.DocumentationMarkup.SECTION_HEADER_CELL;
 
 @Service(Service.Level.PROJECT)
-public final class DocumentationService {
+public final class DocumentationService implements Disposable {
+  private static final int MAX_CACHED_DOCS = 256;
+  private final ModificationTracker javaStructureTracker;
+  /**
+   * Rendered documents of properties and groups, the least recently used ones are evicted.
+   */
+  private final Map<MetadataItem, RenderedDoc> cache = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MetadataItem, RenderedDoc> eldest) {
+          return size() > MAX_CACHED_DOCS;
+        }
+      });
+
+
+  public DocumentationService(Project project) {
+    this.javaStructureTracker = PsiTypeUtils.getJavaStructureModificationTracker(project);
+  }
+
+
   public static DocumentationService getInstance(Project project) {
     return project.getService(DocumentationService.class);
   }
@@ -49,6 +78,42 @@ public final class DocumentationService {
   }
 
 
+  /**
+   * Render the document of the item in background, so that it is ready when it is requested,
+   * for example, while the item is selected in the completion list.
+   */
+  public void prefetchDoc(MetadataItem item) {
+    if (getCachedDoc(item) != null) return;
+    ReadAction.nonBlocking(() -> generateDoc(item))
+        .coalesceBy(this)
+        .expireWith(this)
+        .submit(AppExecutorUtil.getAppExecutorService());
+  }
+
+
+  @Override
+  public void dispose() {
+    cache.clear();
+  }
+
+
+  private @Nullable String getCachedDoc(MetadataItem item) {
+    RenderedDoc doc = cache.get(item);
+    return doc != null && doc.stamp() == javaStructureTracker.getModificationCount() ? doc.html() : null;
+  }
+
+
+  private String cacheDoc(MetadataItem item, Supplier<String> renderer) {
+    String html = getCachedDoc(item);
+    if (html != null) return html;
+    // Javadoc in java sources is copied into the document, so it is rendered again if java code is changed.
+    long stamp = javaStructureTracker.getModificationCount();
+    html = renderer.get();
+    cache.put(item, new RenderedDoc(stamp, html));
+    return html;
+  }
+
+
   /**
    * Generate documentation is as follows:
    * <pre>{@code
@@ -63,6 +128,11 @@ public final class DocumentationService {
    * }</pre>
    */
   public String generateDoc(MetadataProperty property) {
+    return cacheDoc(property, () -> renderDoc(property));
+  }
+
+
+  private String renderDoc(MetadataProperty property) {
     HtmlBuilder doc = new HtmlBuilder();
     HtmlChunk.Element def = DEFINITION_ELEMENT;
     Optional<PsiType> propertyType = property.getFullType();
@@ -132,6 +202,11 @@ public final class DocumentationService {
    * }</pre>
    */
   public String generateDoc(MetadataGroup group) {
+    return cacheDoc(group, () -> renderDoc(group));
+  }
+
+
+  private String renderDoc(MetadataGroup group) {
     HtmlBuilder doc = new HtmlBuilder();
     HtmlChunk.Element def = DEFINITION_ELEMENT;
     Optional<PsiClass> type = group.getType();
@@ -168,4 +243,7 @@ public final class DocumentationService {
         DocumentationMarkup.CONTENT_ELEMENT.addText(Objects.requireNonNullElse(hint.description(), "")));
     return doc.toString();
   }
+
+
+  private record RenderedDoc(long stamp, String html) {}
 }
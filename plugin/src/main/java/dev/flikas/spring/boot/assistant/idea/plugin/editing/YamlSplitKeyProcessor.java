@@ -9,6 +9,7 @@ import com.intellij.openapi.editor.actionSystem.EditorActionHandler;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
@@ -38,38 +39,57 @@ public class YamlSplitKeyProcessor extends EnterHandlerDelegateAdapter {
             return Continue;
         if (caretOffset.get() <= 0)
             return Continue;
-        PsiDocumentManager.getInstance(file.getProject()).commitDocument(editor.getDocument());
+        Document document = editor.getDocument();
+        // Do not copy the whole document text, and look at the text before the PSI, most enters are not on a dot.
+        CharSequence text = document.getImmutableCharSequence();
+        int offset = caretOffset.get();
+        if (offset >= text.length() || text.charAt(offset) != '.') {
+            //If caret is right after the dot, it should work as well.
+            offset--;
+            if (offset >= text.length() || text.charAt(offset) != '.')
+                return Continue;
+        }
+        PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(file.getProject());
+        if (!psiDocumentManager.isCommitted(document)) {
+            psiDocumentManager.commitDocument(document);
+        }
         PsiElement elementAtCaret = file.findElementAt(caretOffset.get());
         if (elementAtCaret == null)
             return Continue;
 
         if (YAMLTokenTypes.SCALAR_KEY.equals(elementAtCaret.getNode().getElementType())) {
-            Document document = editor.getDocument();
-            int offset = caretOffset.get();
-            char c = document.getText().charAt(offset);
-            if (c != '.') {
-                //If caret is right after the dot, it should work as well.
-                c = document.getText().charAt(--offset);
-            }
-            if (c == '.') {
-                int indentSize = CodeStyle.getIndentSize(file);
-                //Indent children
-                YAMLKeyValue keyValue = PsiTreeUtil.getParentOfType(elementAtCaret, YAMLKeyValue.class);
-                if (keyValue != null) {
-                    YAMLValue valueElement = keyValue.getValue();
-                    if (valueElement instanceof YAMLCompoundValue) {
-                        TextRange range = valueElement.getTextRange();
-                        document.replaceString(range.getStartOffset(), range.getEndOffset(),
-                                YAMLTextUtil.indentText(valueElement.getText(), indentSize));
-                    }
+            int indentSize = CodeStyle.getIndentSize(file);
+            //Indent children
+            YAMLKeyValue keyValue = PsiTreeUtil.getParentOfType(elementAtCaret, YAMLKeyValue.class);
+            if (keyValue != null) {
+                YAMLValue valueElement = keyValue.getValue();
+                if (valueElement instanceof YAMLCompoundValue) {
+                    indentLines(document, valueElement.getTextRange(), indentSize);
                 }
-                //Split the key
-                String space = IndentHelperImpl.fillIndent(CodeStyle.getIndentOptions(file), indentSize);
-                document.replaceString(offset, offset + 1, ":" + space);
-                caretOffset.set(offset + 1);
             }
+            //Split the key
+            String space = IndentHelperImpl.fillIndent(CodeStyle.getIndentOptions(file), indentSize);
+            document.replaceString(offset, offset + 1, ":" + space);
+            caretOffset.set(offset + 1);
         }
 
         return Continue;
     }
+
+
+    /**
+     * Same as replacing the range with {@link YAMLTextUtil#indentText(String, int)}, but only inserts the indent
+     * at the start of the range and at each line start in it, from bottom to top to keep the offsets valid.
+     */
+    static void indentLines(Document document, TextRange range, int indentSize) {
+        String indent = StringUtil.repeatSymbol(' ', indentSize);
+        int startLine = document.getLineNumber(range.getStartOffset());
+        for (int line = document.getLineNumber(range.getEndOffset()); line > startLine; line--) {
+            int lineStart = document.getLineStartOffset(line);
+            if (lineStart <= range.getEndOffset()) {
+                document.insertString(lineStart, indent);
+            }
+        }
+        document.insertString(range.getStartOffset(), indent);
+    }
 }
@@ -4,16 +4,20 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiUtilCore;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
-import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.yaml.YAMLUtil;
 import org.jetbrains.yaml.psi.YAMLAlias;
 import org.jetbrains.yaml.psi.YAMLCompoundValue;
 import org.jetbrains.yaml.psi.YAMLKeyValue;
@@ -27,7 +31,11 @@ import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.core.convert.ConversionException;
 import org.springframework.core.convert.ConversionService;
 
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class InvalidValueInspection extends YamlInspectionBase {
@@ -35,19 +43,26 @@ public class InvalidValueInspection extends YamlInspectionBase {
   private static final Pattern SPRING_BOOT_PLACEHOLDER_EXPRESSION = Pattern.compile("\\$\\{.+}");
   private static final Pattern SPRING_BOOT_PLACEHOLDER_ONLY_EXPRESSION = Pattern.compile("\\$\\{[^:]+}");
   private static final ConversionService springConversionService = new ApplicationConversionService();
+  private static final Key<CachedValue<Map<String, Validator>>> ENUM_VALIDATORS_CACHE_KEY =
+      Key.create("spring-boot-assistant.inspection.enum-validators");
+  private static final Validator CANNOT_VALIDATE = value -> true;
+  private static final Validator NOT_LOADABLE = value -> true;
+  /**
+   * Canonical type text -> validator of types on the plugin's classpath, or {@link #NOT_LOADABLE}.
+   */
+  private static final Map<String, Validator> classValidators = new ConcurrentHashMap<>();
 
 
   @Override
   protected void visitKeyValue(
-      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull ProblemsHolder holder, boolean isOnTheFly
+      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull YamlFileAnalysis.KeyInfo key,
+      @NotNull YamlFileAnalysis analysis, @NotNull ProblemsHolder holder, boolean isOnTheFly
   ) {
     YAMLValue yamlValue = keyValue.getValue();
     if (yamlValue == null) return;
     if (yamlValue instanceof YAMLAlias) return; //TODO Support alias.
-    ModuleMetadataService service = module.getService(ModuleMetadataService.class);
-
-    String propertyName = YAMLUtil.getConfigFullName(keyValue);
-    MetadataProperty property = service.getIndex().getProperty(propertyName);
+    String propertyName = key.fullName();
+    MetadataProperty property = key.property();
     if (property == null) {
       // It is not a leaf node, or there should be a KeyNotDefined problem. In any case, we do not have to report any problems here.
       return;
@@ -122,8 +137,11 @@ public class InvalidValueInspection extends YamlInspectionBase {
             @Nullable YAMLValue value = kv.getValue();
             if (value instanceof YAMLScalar scalar) {
               if (canValidateKey) {
-                String keyText = YAMLUtil.getConfigFullName(kv).substring(propertyName.length() + 1);
-                validateValue(kv.getKey(), keyText, kvType[0].getCanonicalText(), holder);
+                YamlFileAnalysis.KeyInfo kvKey = analysis.get(kv);
+                if (kvKey != null) {
+                  String keyText = kvKey.fullName().substring(propertyName.length() + 1);
+                  validateValue(kv.getKey(), keyText, kvType[0].getCanonicalText(), holder);
+                }
               }
               if (canValidateValue) {
                 validateValue(scalar, kvType[1].getCanonicalText(), holder);
@@ -157,14 +175,8 @@ public class InvalidValueInspection extends YamlInspectionBase {
       propertyValue = propertyValue.substring(startIndex, endIndex);
     }
 
-    try {
-      Class<?> valueClass = Class.forName(valueTypeClass);
-      if (springConversionService.canConvert(String.class, valueClass)) {
-        springConversionService.convert(propertyValue, valueClass);
-      }
-    } catch (ClassNotFoundException e) {
-      log.warn(InvalidValueInspection.class.getSimpleName() + ":: Cannot load value class " + valueTypeClass, e);
-    } catch (ConversionException e) {
+    Validator validator = getValidator(propertyElement.getProject(), valueTypeClass);
+    if (!validator.isValid(propertyValue)) {
       holder.registerProblem(
           propertyElement,
           "Value \"" + propertyValue + "\" cannot be converted to: " + valueTypeClass);
@@ -172,12 +184,78 @@ public class InvalidValueInspection extends YamlInspectionBase {
   }
 
 
+  /**
+   * Types on the plugin's classpath are validated by spring's conversion service, others are validated by
+   * enum constants in the project if it is an enum, the rest cannot be validated.
+   */
+  private static Validator getValidator(Project project, String valueTypeClass) {
+    Validator validator = classValidators.computeIfAbsent(valueTypeClass, InvalidValueInspection::createClassValidator);
+    if (validator != NOT_LOADABLE) return validator;
+    Map<String, Validator> enumValidators = CachedValuesManager.getManager(project).getCachedValue(project,
+        ENUM_VALIDATORS_CACHE_KEY, () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+            PsiTypeUtils.getJavaStructureModificationTracker(project)), false);
+    return enumValidators.computeIfAbsent(valueTypeClass,
+        t -> createEnumValidator(PsiTypeUtils.findClass(project, t)));
+  }
+
+
+  private static Validator createClassValidator(String valueTypeClass) {
+    Class<?> valueClass;
+    try {
+      valueClass = Class.forName(valueTypeClass);
+    } catch (ClassNotFoundException | LinkageError e) {
+      // Types of the user's project or libraries are not on the plugin's classpath, this is expected.
+      log.debug(InvalidValueInspection.class.getSimpleName() + ":: Cannot load value class " + valueTypeClass);
+      return NOT_LOADABLE;
+    }
+    if (!springConversionService.canConvert(String.class, valueClass)) return CANNOT_VALIDATE;
+    return value -> {
+      try {
+        springConversionService.convert(value, valueClass);
+        return true;
+      } catch (ConversionException e) {
+        return false;
+      }
+    };
+  }
+
+
+  static Validator createEnumValidator(@Nullable PsiClass psiClass) {
+    if (psiClass == null || !psiClass.isEnum()) return CANNOT_VALIDATE;
+    Set<String> constants = new HashSet<>();
+    for (PsiField field : psiClass.getFields()) {
+      if (field instanceof PsiEnumConstant) constants.add(toLenientEnumName(field.getName()));
+    }
+    // Empty string is converted to null.
+    return value -> value.isBlank() || constants.contains(toLenientEnumName(value));
+  }
+
+
+  /**
+   * Same as the lenient matching of spring boot's string to enum converter, case and separators are ignored.
+   */
+  private static String toLenientEnumName(String name) {
+    StringBuilder sb = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (Character.isLetterOrDigit(c)) sb.append(Character.toLowerCase(c));
+    }
+    return sb.toString();
+  }
+
+
   private boolean isValueSpringBootPlaceholderExpression(String value) {
-    return SPRING_BOOT_PLACEHOLDER_EXPRESSION.matcher(value).matches();
+    return value.startsWith("${") && SPRING_BOOT_PLACEHOLDER_EXPRESSION.matcher(value).matches();
   }
 
 
   private boolean isValueSpringBootPlaceholderOnlyExpression(String value) {
     return SPRING_BOOT_PLACEHOLDER_ONLY_EXPRESSION.matcher(value).matches();
   }
+
+
+  @FunctionalInterface
+  interface Validator {
+    boolean isValid(String value);
+  }
 }
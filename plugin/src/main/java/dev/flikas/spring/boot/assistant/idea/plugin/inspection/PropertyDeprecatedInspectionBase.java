@@ -3,10 +3,8 @@ package dev.flikas.spring.boot.assistant.idea.plugin.inspection;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.module.Module;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
-import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata.Property.Deprecation;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.yaml.YAMLUtil;
 import org.jetbrains.yaml.psi.YAMLAlias;
 import org.jetbrains.yaml.psi.YAMLKeyValue;
 import org.jetbrains.yaml.psi.YAMLMapping;
@@ -15,15 +13,14 @@ import org.jetbrains.yaml.psi.YAMLValue;
 public abstract class PropertyDeprecatedInspectionBase extends YamlInspectionBase {
   @Override
   protected void visitKeyValue(
-      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull ProblemsHolder holder, boolean isOnTheFly
+      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull YamlFileAnalysis.KeyInfo key,
+      @NotNull YamlFileAnalysis analysis, @NotNull ProblemsHolder holder, boolean isOnTheFly
   ) {
     YAMLValue yamlValue = keyValue.getValue();
     if (yamlValue == null) return;
     if (yamlValue instanceof YAMLAlias) return; //TODO Support YAML alias.
 
-    String propertyName = YAMLUtil.getConfigFullName(keyValue);
-    ModuleMetadataService service = module.getService(ModuleMetadataService.class);
-    MetadataProperty property = service.getIndex().getProperty(propertyName);
+    MetadataProperty property = key.property();
     if (property == null) return;
 
     if (yamlValue instanceof YAMLMapping && !property.isMapType()) {
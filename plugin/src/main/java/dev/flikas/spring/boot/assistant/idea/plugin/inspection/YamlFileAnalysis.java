@@ -0,0 +1,104 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.inspection;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicatorProvider;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.YamlKeyPaths;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.yaml.psi.YAMLAlias;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLScalar;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLValue;
+import org.jetbrains.yaml.psi.YamlRecursivePsiElementVisitor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Full names and metadata of all keys in a yaml file, shared by inspections of the file.
+ * <p>
+ * Each key is resolved once for all inspections, the result is cached until the file or the metadata is changed.
+ */
+final class YamlFileAnalysis {
+  private static final Key<CachedValue<YamlFileAnalysis>> CACHE_KEY =
+      Key.create("spring-boot-assistant.inspection.yaml-file-analysis");
+  private final Map<YAMLKeyValue, KeyInfo> keys;
+
+
+  private YamlFileAnalysis(Map<YAMLKeyValue, KeyInfo> keys) {
+    this.keys = keys;
+  }
+
+
+  static @NotNull YamlFileAnalysis getInstance(@NotNull Module module, @NotNull PsiFile file) {
+    return CachedValuesManager.getManager(file.getProject()).getCachedValue(file, CACHE_KEY, () -> {
+      ModuleMetadataService service = ModuleMetadataService.getInstance(module);
+      return CachedValueProvider.Result.create(analyze(service.getIndex(), file), file,
+          service.getModificationTracker(), PsiTypeUtils.getJavaStructureModificationTracker(file.getProject()));
+    }, false);
+  }
+
+
+  /**
+   * @return Information of the key, or {@code null} if the key is not in the analyzed file.
+   */
+  @Nullable KeyInfo get(@NotNull YAMLKeyValue keyValue) {
+    return keys.get(keyValue);
+  }
+
+
+  private static YamlFileAnalysis analyze(MetadataIndex index, PsiFile file) {
+    Map<YAMLKeyValue, KeyInfo> keys = new HashMap<>();
+    file.accept(new YamlRecursivePsiElementVisitor() {
+      @Override
+      public void visitKeyValue(@NotNull YAMLKeyValue keyValue) {
+        ProgressIndicatorProvider.checkCanceled();
+        keys.put(keyValue, analyze(index, keyValue));
+        super.visitKeyValue(keyValue);
+      }
+    });
+    return new YamlFileAnalysis(keys);
+  }
+
+
+  private static KeyInfo analyze(MetadataIndex index, YAMLKeyValue keyValue) {
+    String fullName = YamlKeyPaths.getFullName(keyValue);
+    if (keyValue.getKey() == null || StringUtils.isBlank(fullName)) {
+      return new KeyInfo(fullName, null, true);
+    }
+    PropertyName name = YamlKeyPaths.getPropertyName(keyValue);
+    MetadataProperty property = index.getProperty(name);
+    YAMLValue value = keyValue.getValue();
+    if (value instanceof YAMLScalar || value instanceof YAMLSequence || value == null) {
+      if (property != null) return new KeyInfo(fullName, property, true);
+    } else if (value instanceof YAMLMapping) {
+      if (index.findInNameTrie(name) != null) return new KeyInfo(fullName, property, true);
+    } else if (value instanceof YAMLAlias) {
+      return new KeyInfo(fullName, property, true); //We do not support alias for now
+    }
+    // Property is not defined, but maybe its parent has a Map<String,String> or Properties type.
+    MetadataProperty parent = index.getNearestParentProperty(name);
+    return new KeyInfo(fullName, property, parent != null && parent.canBind(fullName));
+  }
+
+
+  /**
+   * @param fullName The full name of the key in the file.
+   * @param property The property whose name is exactly the full name, regardless the type of the value.
+   * @param defined  Whether the key is a property, a group or can be bound to a parent property.
+   */
+  record KeyInfo(@NotNull String fullName, @Nullable MetadataProperty property, boolean defined) {}
+}
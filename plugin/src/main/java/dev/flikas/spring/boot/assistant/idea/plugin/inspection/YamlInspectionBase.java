@@ -33,18 +33,27 @@ public abstract class YamlInspectionBase extends LocalInspectionTool {
   ) {
     Module module = ModuleUtil.findModuleForFile(session.getFile());
     if (module == null) return PsiElementVisitor.EMPTY_VISITOR;
+    // All inspections of the file share the same analysis, keys are resolved only once.
+    YamlFileAnalysis analysis = YamlFileAnalysis.getInstance(module, session.getFile());
 
     return new YamlPsiElementVisitor() {
       @Override
       public void visitKeyValue(@NotNull YAMLKeyValue keyValue) {
         ProgressIndicatorProvider.checkCanceled();
-        YamlInspectionBase.this.visitKeyValue(module, keyValue, holder, isOnTheFly);
+        YamlFileAnalysis.KeyInfo key = analysis.get(keyValue);
+        if (key == null) return;
+        YamlInspectionBase.this.visitKeyValue(module, keyValue, key, analysis, holder, isOnTheFly);
       }
     };
   }
 
 
+  /**
+   * @param key      Analyzed information of the key.
+   * @param analysis Analyzed information of all keys in the file.
+   */
   protected abstract void visitKeyValue(
-      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull ProblemsHolder holder, boolean isOnTheFly
+      @NotNull Module module, @NotNull YAMLKeyValue keyValue, @NotNull YamlFileAnalysis.KeyInfo key,
+      @NotNull YamlFileAnalysis analysis, @NotNull ProblemsHolder holder, boolean isOnTheFly
   );
 }
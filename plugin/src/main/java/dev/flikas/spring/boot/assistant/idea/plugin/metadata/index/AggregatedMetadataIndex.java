@@ -6,6 +6,7 @@ import dev.flikas.spring.boot.assistant.idea.plugin.misc.MutableReference;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
@@ -91,7 +92,7 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public @Nullable MetadataGroup getGroup(String name) {
+  public @Nullable MetadataGroup getGroup(PropertyName name) {
     return getIndexStream().map(index -> index.getGroup(name)).filter(Objects::nonNull).findFirst().orElse(null);
   }
 
@@ -104,7 +105,7 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public MetadataProperty getProperty(String name) {
+  public MetadataProperty getProperty(PropertyName name) {
     return getIndexStream()
         .map(index -> index.getProperty(name))
         .filter(Objects::nonNull)
@@ -113,7 +114,7 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public MetadataProperty getNearestParentProperty(String name) {
+  public MetadataProperty getNearestParentProperty(PropertyName name) {
     return getIndexStream()
         .map(index -> index.getNearestParentProperty(name))
         .filter(Objects::nonNull)
@@ -129,7 +130,7 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public MetadataHint getHint(String name) {
+  public MetadataHint getHint(PropertyName name) {
     return getIndexStream()
         .map(index -> index.getHint(name))
         .filter(Objects::nonNull)
@@ -145,7 +146,7 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public MetadataItem getPropertyOrGroup(String name) {
+  public MetadataItem getPropertyOrGroup(PropertyName name) {
     return getIndexStream()
         .map(index -> index.getPropertyOrGroup(name))
         .filter(Objects::nonNull)
@@ -154,7 +155,20 @@ public class AggregatedMetadataIndex implements MetadataIndex {
 
 
   @Override
-  public @Nullable NameTreeNode findInNameTrie(String prefix) {
+  public @NotNull List<MetadataProperty> getPropertiesOnPath(PropertyName name) {
+    MetadataProperty[] result = new MetadataProperty[name.getNumberOfElements()];
+    getIndexStream().forEachOrdered(index -> {
+      List<MetadataProperty> path = index.getPropertiesOnPath(name);
+      for (int i = 0; i < result.length; i++) {
+        if (result[i] == null) result[i] = path.get(i);
+      }
+    });
+    return Arrays.asList(result);
+  }
+
+
+  @Override
+  public @Nullable NameTreeNode findInNameTrie(PropertyName prefix) {
     return getIndexStream()
         .map(index -> index.findInNameTrie(prefix))
         .filter(Objects::nonNull)
@@ -163,6 +177,15 @@ public class AggregatedMetadataIndex implements MetadataIndex {
   }
 
 
+  @Override
+  public @NotNull List<MetadataItem> searchByName(PropertyName parent, String query) {
+    return getIndexStream()
+        .flatMap(index -> index.searchByName(parent, query).stream())
+        .distinct()
+        .toList();
+  }
+
+
   private @NotNull Stream<? extends MetadataIndex> getIndexStream() {
     return indexes.stream()
         .map(MutableReference::dereference)
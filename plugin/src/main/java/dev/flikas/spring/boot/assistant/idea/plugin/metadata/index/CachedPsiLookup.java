@@ -0,0 +1,56 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Result of looking up a PSI element of a metadata item, such as its source type or source field.
+ * <p>
+ * The lookup runs again only if java code or project roots are changed since the last one, or the found element
+ * is no longer valid. It should be called in a read action, as the lookup reads PSI.
+ * <p>
+ * The found element is held by a smart pointer, so that long-lived metadata items do not pin the PSI, and the AST or
+ * stub tree of its file, in memory.
+ */
+final class CachedPsiLookup<T extends PsiElement> {
+  private final SmartPointerManager smartPointerManager;
+  private final ModificationTracker tracker;
+  private final Supplier<@Nullable T> lookup;
+  private volatile Result<T> result = null;
+
+
+  CachedPsiLookup(Project project, Supplier<@Nullable T> lookup) {
+    this.smartPointerManager = SmartPointerManager.getInstance(project);
+    this.tracker = PsiTypeUtils.getJavaStructureModificationTracker(project);
+    this.lookup = lookup;
+  }
+
+
+  @Nullable T get() {
+    long stamp = tracker.getModificationCount();
+    Result<T> result = this.result;
+    if (result != null && result.stamp() == stamp) {
+      if (result.pointer() == null) return null;
+      T element = result.pointer().getElement();
+      if (element != null && element.isValid()) return element;
+    }
+    T element = lookup.get();
+    SmartPsiElementPointer<T> pointer =
+        element != null ? smartPointerManager.createSmartPsiElementPointer(element) : null;
+    this.result = new Result<>(stamp, pointer);
+    return element;
+  }
+
+
+  /**
+   * @param pointer Pointer to the found element, or null if nothing is found.
+   */
+  private record Result<T extends PsiElement>(long stamp, @Nullable SmartPsiElementPointer<T> pointer) {}
+}
@@ -22,12 +22,23 @@ class MetadataGroupImpl implements MetadataGroup {
   private final MetadataIndex index;
   @Getter
   private final ConfigurationMetadata.Group metadata;
-  private volatile String renderedDocument = null;
+  private final CachedPsiLookup<PsiClass> type;
+  private final CachedPsiLookup<PsiClass> sourceType;
+  private final CachedPsiLookup<PsiMethod> sourceMethod;
 
 
   MetadataGroupImpl(MetadataIndex index, ConfigurationMetadata.Group metadata) {
     this.index = index;
     this.metadata = metadata;
+    this.type = new CachedPsiLookup<>(index.project(), () -> findClass(metadata.getType()));
+    this.sourceType = new CachedPsiLookup<>(index.project(), () -> findClass(metadata.getSourceType()));
+    this.sourceMethod = new CachedPsiLookup<>(index.project(), () -> {
+      String method = metadata.getSourceMethod();
+      if (StringUtils.isBlank(method)) return null;
+      return getSourceType()
+          .flatMap(sourceClass -> PsiMethodUtils.findMethodBySignature(sourceClass, method))
+          .orElse(null);
+    });
   }
 
 
@@ -42,9 +53,7 @@ class MetadataGroupImpl implements MetadataGroup {
    */
   @Override
   public Optional<PsiClass> getType() {
-    return Optional.ofNullable(metadata.getType())
-        .filter(StringUtils::isNotBlank)
-        .map(type -> PsiTypeUtils.findClass(index.project(), type));
+    return Optional.ofNullable(type.get());
   }
 
 
@@ -53,50 +62,42 @@ class MetadataGroupImpl implements MetadataGroup {
    */
   @Override
   public Optional<PsiClass> getSourceType() {
-    return Optional.ofNullable(metadata.getSourceType())
-        .filter(StringUtils::isNotBlank)
-        .map(type -> PsiTypeUtils.findClass(index.project(), type));
+    return Optional.ofNullable(sourceType.get());
   }
 
 
   @Override
   public @NotNull String getRenderedDescription() {
-    if (this.renderedDocument != null) {
-      return this.renderedDocument;
+    HtmlBuilder doc = new HtmlBuilder();
+    String desc = metadata.getDescription();
+    //Unfortunately, even though there is a 'description' field for the group metadata, `spring boot configuration processor` will never fill it.
+    //Here we use group class/method's document instead.
+    String descFrom = null;
+    if (StringUtils.isBlank(desc)) {
+      PsiMethod method = getSourceMethod().orElse(null);
+      desc = method != null ? PsiElementUtils.getDocument(method) : null;
+      descFrom = method != null ? PsiElementUtils.createLinkForDoc(method) : null;
     }
-    synchronized (this) {
-      if (this.renderedDocument != null) {
-        return this.renderedDocument;
-      }
-      HtmlBuilder doc = new HtmlBuilder();
-      String desc = metadata.getDescription();
-      //Unfortunately, even though there is a 'description' field for the group metadata, `spring boot configuration processor` will never fill it.
-      //Here we use group class/method's document instead.
-      String descFrom = null;
-      if (StringUtils.isBlank(desc)) {
-        desc = getSourceMethod().map(PsiElementUtils::getDocument).orElse(null);
-        descFrom = getSourceMethod().map(PsiElementUtils::createLinkForDoc).orElse(null);
-      }
-      if (StringUtils.isBlank(desc)) {
-        desc = getType().map(PsiElementUtils::getDocument).orElse(null);
-        descFrom = getType().map(PsiElementUtils::createLinkForDoc).orElse(null);
-      }
-      if (StringUtils.isBlank(desc)) {
-        desc = getSourceType().map(PsiElementUtils::getDocument).orElse(null);
-        descFrom = getSourceType().map(PsiElementUtils::createLinkForDoc).orElse(null);
-      }
-      if (StringUtils.isNotBlank(desc)) {
-        if (StringUtils.isNotBlank(descFrom)) {
-          doc.append(DocumentationMarkup.GRAYED_ELEMENT
-              .addText("(Doc below is copied from ")
-              .addRaw(descFrom)
-              .addText(")\n"));
-        }
-        doc.appendRaw(desc);
+    if (StringUtils.isBlank(desc)) {
+      PsiClass typeClass = getType().orElse(null);
+      desc = typeClass != null ? PsiElementUtils.getDocument(typeClass) : null;
+      descFrom = typeClass != null ? PsiElementUtils.createLinkForDoc(typeClass) : null;
+    }
+    if (StringUtils.isBlank(desc)) {
+      PsiClass sourceClass = getSourceType().orElse(null);
+      desc = sourceClass != null ? PsiElementUtils.getDocument(sourceClass) : null;
+      descFrom = sourceClass != null ? PsiElementUtils.createLinkForDoc(sourceClass) : null;
+    }
+    if (StringUtils.isNotBlank(desc)) {
+      if (StringUtils.isNotBlank(descFrom)) {
+        doc.append(DocumentationMarkup.GRAYED_ELEMENT
+            .addText("(Doc below is copied from ")
+            .addRaw(descFrom)
+            .addText(")\n"));
       }
-      this.renderedDocument = doc.toString();
+      doc.appendRaw(desc);
     }
-    return this.renderedDocument;
+    return doc.toString();
   }
 
 
@@ -111,8 +112,11 @@ class MetadataGroupImpl implements MetadataGroup {
    */
   @Override
   public Optional<PsiMethod> getSourceMethod() {
-    String sourceMethod = metadata.getSourceMethod();
-    if (StringUtils.isBlank(sourceMethod)) return Optional.empty();
-    return getSourceType().flatMap(sourceClass -> PsiMethodUtils.findMethodBySignature(sourceClass, sourceMethod));
+    return Optional.ofNullable(sourceMethod.get());
+  }
+
+
+  private PsiClass findClass(String type) {
+    return StringUtils.isBlank(type) ? null : PsiTypeUtils.findClass(index.project(), type);
   }
 }
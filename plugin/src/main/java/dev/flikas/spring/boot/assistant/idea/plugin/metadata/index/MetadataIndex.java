@@ -29,17 +29,60 @@ public interface MetadataIndex {
 
   @NotNull Map<PropertyName, MetadataHint> getHints();
 
-  @Nullable MetadataGroup getGroup(String name);
+  @Nullable MetadataGroup getGroup(PropertyName name);
 
-  @Nullable MetadataProperty getProperty(String name);
+  default @Nullable MetadataGroup getGroup(String name) {
+    return getGroup(PropertyName.adapt(name));
+  }
+
+  @Nullable MetadataProperty getProperty(PropertyName name);
+
+  default @Nullable MetadataProperty getProperty(String name) {
+    return getProperty(PropertyName.adapt(name));
+  }
+
+  @Nullable MetadataProperty getNearestParentProperty(PropertyName name);
+
+  default @Nullable MetadataProperty getNearestParentProperty(String name) {
+    return getNearestParentProperty(PropertyName.adapt(name));
+  }
+
+  @Nullable MetadataHint getHint(PropertyName name);
+
+  default @Nullable MetadataHint getHint(String name) {
+    return getHint(PropertyName.adapt(name));
+  }
+
+  @Nullable MetadataItem getPropertyOrGroup(PropertyName name);
+
+  default @Nullable MetadataItem getPropertyOrGroup(String name) {
+    return getPropertyOrGroup(PropertyName.adapt(name));
+  }
 
-  @Nullable MetadataProperty getNearestParentProperty(String name);
+  /**
+   * Find properties of the name and its ancestors in one walk.
+   * <p>
+   * Unlike {@link #getProperty(PropertyName)}, it walks the name trie, so an element of the name also matches
+   * a map key or index wildcard, e.g. {@code my.map.foo.enabled} resolves {@code my.map[*].enabled}.
+   *
+   * @return a list that has the same size as the name's number of elements, the i-th item is the property
+   * named by the first (i + 1) elements of the name, or null if there is no such property.
+   */
+  @NotNull List<MetadataProperty> getPropertiesOnPath(PropertyName name);
 
-  @Nullable MetadataHint getHint(String name);
+  @Nullable NameTreeNode findInNameTrie(PropertyName prefix);
 
-  @Nullable MetadataItem getPropertyOrGroup(String name);
+  default @Nullable NameTreeNode findInNameTrie(String prefix) {
+    return findInNameTrie(PropertyName.adapt(prefix));
+  }
 
-  @Nullable NameTreeNode findInNameTrie(String prefix);
+  /**
+   * Search properties and groups under the parent, by substring or camel-hump of the name.
+   *
+   * @param parent only descendants of it are searched, or the whole key space if it is empty.
+   * @see NameSearchIndex#matches(String, String)
+   */
+  @NotNull List<MetadataItem> searchByName(PropertyName parent, String query);
 
   //region empty implement
   record Empty(Project project) implements MetadataIndex {
@@ -62,25 +105,25 @@ public interface MetadataIndex {
 
 
     @Override
-    public @Nullable MetadataGroup getGroup(String name) {
+    public @Nullable MetadataGroup getGroup(PropertyName name) {
       return null;
     }
 
 
     @Override
-    public MetadataProperty getProperty(String name) {
+    public MetadataProperty getProperty(PropertyName name) {
       return null;
     }
 
 
     @Override
-    public MetadataProperty getNearestParentProperty(String name) {
+    public MetadataProperty getNearestParentProperty(PropertyName name) {
       return null;
     }
 
 
     @Override
-    public MetadataHint getHint(String name) {
+    public MetadataHint getHint(PropertyName name) {
       return null;
     }
 
@@ -104,15 +147,27 @@ public interface MetadataIndex {
 
 
     @Override
-    public MetadataItem getPropertyOrGroup(String name) {
+    public MetadataItem getPropertyOrGroup(PropertyName name) {
       return null;
     }
 
 
     @Override
-    public @Nullable NameTreeNode findInNameTrie(String prefix) {
+    public @NotNull List<MetadataProperty> getPropertiesOnPath(PropertyName name) {
+      return Collections.nCopies(name.getNumberOfElements(), null);
+    }
+
+
+    @Override
+    public @Nullable NameTreeNode findInNameTrie(PropertyName prefix) {
       return null;
     }
+
+
+    @Override
+    public @NotNull List<MetadataItem> searchByName(PropertyName parent, String query) {
+      return List.of();
+    }
   }
   //endregion
 }
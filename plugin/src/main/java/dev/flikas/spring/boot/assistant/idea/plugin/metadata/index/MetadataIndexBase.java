@@ -4,13 +4,18 @@ import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationPropertyName.Form.UNIFORM;
+
 
 abstract class MetadataIndexBase implements MetadataIndex {
   private static final Logger LOG = Logger.getInstance(MetadataIndexBase.class);
@@ -20,6 +25,10 @@ abstract class MetadataIndexBase implements MetadataIndex {
   protected final Map<PropertyName, MetadataHintImpl> hints = new HashMap<>();
   protected final NameTreeNode propertiesAndGroupsNameIndex = new NameTreeNode();
   protected final Project project;
+  /**
+   * Built on first search, as the index is immutable after it is loaded.
+   */
+  private volatile NameSearchIndex<MetadataItem> nameSearchIndex;
 
 
   protected MetadataIndexBase(Project project) {
@@ -41,8 +50,7 @@ abstract class MetadataIndexBase implements MetadataIndex {
 
   @Override
   @Nullable
-  public MetadataGroup getGroup(String name) {
-    PropertyName key = PropertyName.adapt(name);
+  public MetadataGroup getGroup(PropertyName key) {
     return groups.get(key);
   }
 
@@ -54,15 +62,13 @@ abstract class MetadataIndexBase implements MetadataIndex {
 
 
   @Override
-  public MetadataProperty getProperty(String name) {
-    PropertyName key = PropertyName.adapt(name);
+  public MetadataProperty getProperty(PropertyName key) {
     return properties.get(key);
   }
 
 
   @Override
-  public MetadataProperty getNearestParentProperty(String name) {
-    PropertyName key = PropertyName.adapt(name);
+  public MetadataProperty getNearestParentProperty(PropertyName key) {
     MetadataProperty property = null;
     while (key != null && !key.isEmpty() && (property = properties.get(key)) == null) {
       key = key.getParent();
@@ -78,8 +84,7 @@ abstract class MetadataIndexBase implements MetadataIndex {
 
 
   @Override
-  public MetadataHint getHint(String name) {
-    PropertyName key = PropertyName.adapt(name);
+  public MetadataHint getHint(PropertyName key) {
     return hints.get(key);
   }
 
@@ -91,20 +96,43 @@ abstract class MetadataIndexBase implements MetadataIndex {
 
 
   @Override
-  public MetadataItem getPropertyOrGroup(String name) {
-    PropertyName key = PropertyName.adapt(name);
+  public MetadataItem getPropertyOrGroup(PropertyName key) {
     MetadataItem item = properties.get(key);
     return item != null ? item : groups.get(key);
   }
 
 
   @Override
-  public @Nullable NameTreeNode findInNameTrie(String parentPropertyName) {
-    PropertyName key = PropertyName.adapt(parentPropertyName);
+  public @NotNull List<MetadataProperty> getPropertiesOnPath(PropertyName name) {
+    MetadataProperty[] result = new MetadataProperty[name.getNumberOfElements()];
+    NameTreeNode node = this.propertiesAndGroupsNameIndex;
+    for (int i = 0; node != null && i < result.length; i++) {
+      node = node.getChild(name, i);
+      if (node == null) break;
+      for (MetadataItem item : node.getData()) {
+        if (item instanceof MetadataProperty property) {
+          result[i] = property;
+          break;
+        }
+      }
+    }
+    return Arrays.asList(result);
+  }
+
+
+  @Override
+  public @Nullable NameTreeNode findInNameTrie(PropertyName key) {
     return this.propertiesAndGroupsNameIndex.findChild(key);
   }
 
 
+  @Override
+  public @NotNull List<MetadataItem> searchByName(PropertyName parent, String query) {
+    if (StringUtils.isBlank(query)) return List.of();
+    return getNameSearchIndex().search(parent.isEmpty() ? "" : searchPath(parent) + ".", query);
+  }
+
+
   protected void add(ConfigurationMetadata.Property p) {
     MetadataPropertyImpl prop = new MetadataPropertyImpl(this, p);
     PropertyName key = PropertyName.of(p.getName());
@@ -176,6 +204,33 @@ abstract class MetadataIndexBase implements MetadataIndex {
   }
 
 
+  private NameSearchIndex<MetadataItem> getNameSearchIndex() {
+    NameSearchIndex<MetadataItem> index = this.nameSearchIndex;
+    if (index == null) {
+      NameSearchIndex.Builder<MetadataItem> builder = NameSearchIndex.builder();
+      properties.values().forEach(p -> builder.add(p.getNameStr(), searchPath(p.getName()), p));
+      groups.values().forEach(g -> builder.add(g.getNameStr(), searchPath(g.getName()), g));
+      index = builder.build();
+      this.nameSearchIndex = index;
+    }
+    return index;
+  }
+
+
+  /**
+   * Uniform elements joined by dots, so descendants of a name are those whose path starts with the name's path and a
+   * dot, no matter how the names are written, e.g. {@code spring.data-source} and {@code spring.dataSource}.
+   */
+  private static String searchPath(PropertyName name) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < name.getNumberOfElements(); i++) {
+      if (i > 0) sb.append('.');
+      sb.append(name.getElement(i, UNIFORM));
+    }
+    return sb.toString();
+  }
+
+
   private void putIntoNameIndex(PropertyName key, MetadataItem value) {
     if (key.isEmpty()) {
       throw new IllegalArgumentException("Empty key is not acceptable");
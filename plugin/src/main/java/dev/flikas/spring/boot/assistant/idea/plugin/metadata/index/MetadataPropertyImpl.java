@@ -2,7 +2,6 @@ package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.lang.documentation.DocumentationMarkup;
-import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.util.text.HtmlBuilder;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiField;
@@ -35,8 +34,8 @@ class MetadataPropertyImpl implements MetadataProperty {
   @Getter(AccessLevel.PROTECTED)
   private final PropertyName propertyName;
   private final PsiType propertyType;
-
-  private volatile String renderedDocument = null;
+  private final CachedPsiLookup<PsiClass> sourceType;
+  private final CachedPsiLookup<PsiField> sourceField;
 
 
   MetadataPropertyImpl(MetadataIndex index, ConfigurationMetadata.Property metadata) {
@@ -48,6 +47,12 @@ class MetadataPropertyImpl implements MetadataProperty {
     } else {
       this.propertyType = PsiTypeUtils.createTypeFromText(index.project(), metadata.getType());
     }
+    this.sourceType = new CachedPsiLookup<>(index.project(), () -> StringUtils.isBlank(metadata.getSourceType())
+        ? null
+        : PsiTypeUtils.findClass(index.project(), metadata.getSourceType()));
+    this.sourceField = new CachedPsiLookup<>(index.project(), () -> getSourceType()
+        .map(type -> type.findFieldByName(getCamelCaseLastName(), true))
+        .orElse(null));
   }
 
 
@@ -66,9 +71,7 @@ class MetadataPropertyImpl implements MetadataProperty {
 
   @Override
   public Optional<PsiClass> getSourceType() {
-    return Optional.ofNullable(metadata.getSourceType())
-        .filter(StringUtils::isNotBlank)
-        .map(type -> PsiTypeUtils.findClass(index.project(), type));
+    return Optional.ofNullable(sourceType.get());
   }
 
 
@@ -82,51 +85,42 @@ class MetadataPropertyImpl implements MetadataProperty {
 
   @Override
   public @NotNull String getRenderedDescription() {
-    if (this.renderedDocument != null) {
-      return this.renderedDocument;
-    }
-    synchronized (this) {
-      if (this.renderedDocument != null) {
-        return this.renderedDocument;
-      }
-      HtmlBuilder doc = new HtmlBuilder();
-      String desc = metadata.getDescription();
-      //If this Property is generated from code, it's description won't be filled on creation for better performance,
-      //We will read it from source code's javadoc, and cache it here.
-      String descFrom = null;
-      if (StringUtils.isBlank(desc)) {
-        PsiField field = getSourceField().orElse(null);
-        if (field != null) {
-          desc = PsiElementUtils.getDocument(field);
-          descFrom = PsiElementUtils.createLinkForDoc(field);
-          if (StringUtils.isBlank(desc)) {
-            PsiMethod setter = PropertyUtil.findSetterForField(field);
-            if (setter != null) {
-              desc = PsiElementUtils.getDocument(setter);
-              descFrom = PsiElementUtils.createLinkForDoc(setter);
-            }
+    HtmlBuilder doc = new HtmlBuilder();
+    String desc = metadata.getDescription();
+    //If this Property is generated from code, it's description won't be filled on creation for better performance,
+    //We will read it from source code's javadoc, the rendered document is cached by DocumentationService.
+    String descFrom = null;
+    if (StringUtils.isBlank(desc)) {
+      PsiField field = getSourceField().orElse(null);
+      if (field != null) {
+        desc = PsiElementUtils.getDocument(field);
+        descFrom = PsiElementUtils.createLinkForDoc(field);
+        if (StringUtils.isBlank(desc)) {
+          PsiMethod setter = PropertyUtil.findSetterForField(field);
+          if (setter != null) {
+            desc = PsiElementUtils.getDocument(setter);
+            descFrom = PsiElementUtils.createLinkForDoc(setter);
           }
-          if (StringUtils.isBlank(desc)) {
-            PsiMethod getter = PropertyUtil.findGetterForField(field);
-            if (getter != null) {
-              desc = PsiElementUtils.getDocument(getter);
-              descFrom = PsiElementUtils.createLinkForDoc(getter);
-            }
+        }
+        if (StringUtils.isBlank(desc)) {
+          PsiMethod getter = PropertyUtil.findGetterForField(field);
+          if (getter != null) {
+            desc = PsiElementUtils.getDocument(getter);
+            descFrom = PsiElementUtils.createLinkForDoc(getter);
           }
         }
       }
-      if (StringUtils.isNotBlank(desc)) {
-        if (StringUtils.isNotBlank(descFrom)) {
-          doc.append(DocumentationMarkup.GRAYED_ELEMENT
-              .addText("(Doc below is copied from ")
-              .addRaw(descFrom)
-              .addText(")\n"));
-        }
-        doc.appendRaw(desc);
+    }
+    if (StringUtils.isNotBlank(desc)) {
+      if (StringUtils.isNotBlank(descFrom)) {
+        doc.append(DocumentationMarkup.GRAYED_ELEMENT
+            .addText("(Doc below is copied from ")
+            .addRaw(descFrom)
+            .addText(")\n"));
       }
-      this.renderedDocument = doc.toString();
+      doc.appendRaw(desc);
     }
-    return this.renderedDocument;
+    return doc.toString();
   }
 
 
@@ -138,13 +132,13 @@ class MetadataPropertyImpl implements MetadataProperty {
 
   @Override
   public Optional<PsiType> getFullType() {
-    return Optional.ofNullable(this.propertyType).filter(t -> ReadAction.compute(t::isValid));
+    return Optional.ofNullable(this.propertyType).filter(PsiType::isValid);
   }
 
 
   @Override
   public Optional<PsiField> getSourceField() {
-    return getSourceType().map(type -> ReadAction.compute(() -> type.findFieldByName(getCamelCaseLastName(), true)));
+    return Optional.ofNullable(sourceField.get());
   }
 
 
@@ -0,0 +1,305 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An n-gram index over names in the whole key space, for substring and camel-hump (word prefixes) matching.
+ * <p>
+ * For example, {@code hikari} and {@code maxpool} will both match {@code spring.datasource.hikari.maximum-pool-size}.
+ * <p>
+ * The index is immutable once built, candidates are found by intersecting sorted posting lists,
+ * and then be verified by {@link #matches(String, String)}. Queries shorter than a trigram are looked up by
+ * the postings of their chars instead.
+ * <p>
+ * Entries are ordered by their path, so a search can be limited to the entries under a path prefix,
+ * the cost of such a search is proportional to the number of entries under the prefix.
+ */
+public class NameSearchIndex<T> {
+  private static final int GRAM_SIZE = 3;
+  private static final int[] NO_POSTING = {};
+
+  private final String[] names;
+  private final String[] paths;
+  private final List<T> values;
+  /**
+   * Trigram of a name -> sorted ids of names that contain it.
+   */
+  private final Map<String, int[]> grams;
+  /**
+   * First char of a word -> sorted ids of names that contain a word starts with it.
+   */
+  private final Map<Character, int[]> wordStarts;
+  /**
+   * Char -> sorted ids of names that contain it.
+   */
+  private final Map<Character, int[]> chars;
+
+
+  private NameSearchIndex(Builder<T> builder) {
+    List<Entry<T>> entries = new ArrayList<>(builder.entries);
+    entries.sort((e1, e2) -> e1.path().compareTo(e2.path()));
+    this.names = new String[entries.size()];
+    this.paths = new String[entries.size()];
+    this.values = new ArrayList<>(entries.size());
+    Map<String, IntArrayList> gramPostings = new HashMap<>();
+    Map<Character, IntArrayList> wordStartPostings = new HashMap<>();
+    Map<Character, IntArrayList> charPostings = new HashMap<>();
+    for (int id = 0; id < entries.size(); id++) {
+      String name = entries.get(id).name();
+      this.names[id] = name;
+      this.paths[id] = entries.get(id).path();
+      this.values.add(entries.get(id).value());
+      for (int i = 0; i + GRAM_SIZE <= name.length(); i++) {
+        addPosting(gramPostings.computeIfAbsent(name.substring(i, i + GRAM_SIZE), k -> new IntArrayList()), id);
+      }
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (!isWordChar(c)) continue;
+        addPosting(charPostings.computeIfAbsent(c, k -> new IntArrayList()), id);
+        if (i == 0 || !isWordChar(name.charAt(i - 1))) {
+          addPosting(wordStartPostings.computeIfAbsent(c, k -> new IntArrayList()), id);
+        }
+      }
+    }
+    this.grams = new HashMap<>(gramPostings.size());
+    gramPostings.forEach((k, v) -> this.grams.put(k, v.toIntArray()));
+    this.wordStarts = new HashMap<>(wordStartPostings.size());
+    wordStartPostings.forEach((k, v) -> this.wordStarts.put(k, v.toIntArray()));
+    this.chars = new HashMap<>(charPostings.size());
+    charPostings.forEach((k, v) -> this.chars.put(k, v.toIntArray()));
+  }
+
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+
+  /**
+   * @return true if the query is a substring of the name, or the query can be split into pieces,
+   * and each piece is a prefix of the words in the name in order, for example, {@code maxpool} matches
+   * {@code maximum-pool-size}. Matching is case-insensitive, and chars other than letters and digits in query are ignored.
+   */
+  public static boolean matches(@NotNull String query, @NotNull String name) {
+    String q = normalizeQuery(query);
+    if (q.isEmpty()) return true;
+    String n = name.toLowerCase(Locale.ENGLISH);
+    return n.contains(q) || matchesWordPrefixes(q, n);
+  }
+
+
+  public boolean isEmpty() {
+    return names.length == 0;
+  }
+
+
+  /**
+   * @return values whose name {@linkplain #matches(String, String) matches} the query, ordered by path.
+   */
+  @NotNull
+  public List<T> search(@NotNull String query) {
+    return search("", query);
+  }
+
+
+  /**
+   * @param pathPrefix only entries whose path starts with it are searched.
+   * @return values whose path starts with the prefix and whose name {@linkplain #matches(String, String) matches}
+   * the query, ordered by path.
+   */
+  @NotNull
+  public List<T> search(@NotNull String pathPrefix, @NotNull String query) {
+    String q = normalizeQuery(query);
+    if (q.isEmpty() || isEmpty()) return Collections.emptyList();
+    int from = lowerBound(pathPrefix);
+    int to = pathPrefix.isEmpty() ? paths.length : lowerBound(pathPrefix + Character.MAX_VALUE);
+    if (from >= to) return Collections.emptyList();
+    Set<Integer> ids = new LinkedHashSet<>();
+    // Substring matches
+    int[] substringCandidates = null;
+    if (q.length() >= GRAM_SIZE) {
+      for (int i = 0; i + GRAM_SIZE <= q.length() && (substringCandidates == null || substringCandidates.length > 0);
+           i++) {
+        int[] posting = range(grams.getOrDefault(q.substring(i, i + GRAM_SIZE), NO_POSTING), from, to);
+        substringCandidates = substringCandidates == null ? posting : intersect(substringCandidates, posting);
+      }
+    } else {
+      // A query shorter than a gram has no gram to look up, scan the names that contain all of its chars instead.
+      for (int i = 0; i < q.length() && (substringCandidates == null || substringCandidates.length > 0); i++) {
+        int[] posting = range(chars.getOrDefault(q.charAt(i), NO_POSTING), from, to);
+        substringCandidates = substringCandidates == null ? posting : intersect(substringCandidates, posting);
+      }
+    }
+    assert substringCandidates != null;
+    for (int id : substringCandidates) {
+      if (names[id].contains(q)) ids.add(id);
+    }
+    // Camel-hump matches, the first char must be a word start, and all the chars must exist in the name.
+    int[] candidates = range(wordStarts.getOrDefault(q.charAt(0), NO_POSTING), from, to);
+    for (int i = 1; i < q.length() && candidates.length > 0; i++) {
+      candidates = intersect(candidates, range(chars.getOrDefault(q.charAt(i), NO_POSTING), from, to));
+    }
+    for (int id : candidates) {
+      if (!ids.contains(id) && matchesWordPrefixes(q, names[id])) ids.add(id);
+    }
+    int[] sorted = ids.stream().mapToInt(Integer::intValue).sorted().toArray();
+    List<T> result = new ArrayList<>(sorted.length);
+    for (int id : sorted) {
+      result.add(values.get(id));
+    }
+    return result;
+  }
+
+
+  private static String normalizeQuery(String query) {
+    StringBuilder sb = new StringBuilder(query.length());
+    for (int i = 0; i < query.length(); i++) {
+      char c = Character.toLowerCase(query.charAt(i));
+      if (isWordChar(c)) sb.append(c);
+    }
+    return sb.toString();
+  }
+
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c);
+  }
+
+
+  private static boolean matchesWordPrefixes(String query, String name) {
+    IntArrayList starts = new IntArrayList();
+    for (int i = 0; i < name.length(); i++) {
+      if (isWordChar(name.charAt(i)) && (i == 0 || !isWordChar(name.charAt(i - 1)))) {
+        starts.add(i);
+      }
+    }
+    int[] wordStarts = starts.toIntArray();
+    BitSet failed = new BitSet((query.length() + 1) * (wordStarts.length + 1));
+    return matchWordPrefixesFrom(query, 0, name, wordStarts, 0, failed);
+  }
+
+
+  /**
+   * @param failed (queryIdx, wordIdx) pairs that are known not to match, so each pair is tried only once,
+   *               and the search is polynomial instead of exponential to the length of the query.
+   */
+  private static boolean matchWordPrefixesFrom(
+      String query, int queryIdx, String name, int[] wordStarts, int wordIdx, BitSet failed
+  ) {
+    if (queryIdx == query.length()) return true;
+    int state = queryIdx * (wordStarts.length + 1) + wordIdx;
+    if (failed.get(state)) return false;
+    for (int w = wordIdx; w < wordStarts.length; w++) {
+      int len = 0;
+      int start = wordStarts[w];
+      while (queryIdx + len < query.length() && start + len < name.length()
+          && isWordChar(name.charAt(start + len)) && query.charAt(queryIdx + len) == name.charAt(start + len)) {
+        len++;
+      }
+      // Try the longest piece first, then shorter ones, the next piece must start at a following word.
+      for (int k = len; k > 0; k--) {
+        if (matchWordPrefixesFrom(query, queryIdx + k, name, wordStarts, w + 1, failed)) return true;
+      }
+    }
+    failed.set(state);
+    return false;
+  }
+
+
+  /**
+   * @return the first id whose path is not less than the given one.
+   */
+  private int lowerBound(String path) {
+    int low = 0, high = paths.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (paths[mid].compareTo(path) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+
+  /**
+   * @return ids in the posting that are in [from, to).
+   */
+  private static int[] range(int[] posting, int from, int to) {
+    if (posting.length == 0 || (posting[0] >= from && posting[posting.length - 1] < to)) return posting;
+    int start = Arrays.binarySearch(posting, from);
+    if (start < 0) start = -start - 1;
+    int end = Arrays.binarySearch(posting, start, posting.length, to);
+    if (end < 0) end = -end - 1;
+    return Arrays.copyOfRange(posting, start, end);
+  }
+
+
+  private static void addPosting(IntArrayList posting, int id) {
+    // Ids are added in ascending order, so we only need to check the last one to avoid duplication.
+    if (posting.isEmpty() || posting.getInt(posting.size() - 1) != id) {
+      posting.add(id);
+    }
+  }
+
+
+  private static int[] intersect(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int i = 0, j = 0, k = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[k++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return k == result.length ? result : Arrays.copyOf(result, k);
+  }
+
+
+  private record Entry<T>(String name, String path, T value) {}
+
+
+  public static class Builder<T> {
+    private final List<Entry<T>> entries = new ArrayList<>();
+
+
+    private Builder() {}
+
+
+    public Builder<T> add(@NotNull String name, @NotNull T value) {
+      return add(name, name, value);
+    }
+
+
+    /**
+     * @param path the key for ordering entries and limiting searches, see {@link #search(String, String)}.
+     */
+    public Builder<T> add(@NotNull String name, @NotNull String path, @NotNull T value) {
+      entries.add(new Entry<>(name.toLowerCase(Locale.ENGLISH), path, value));
+      return this;
+    }
+
+
+    public NameSearchIndex<T> build() {
+      return new NameSearchIndex<>(this);
+    }
+  }
+}
@@ -3,9 +3,9 @@ package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index;
 import com.intellij.openapi.diagnostic.Logger;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
 import lombok.AccessLevel;
-import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import org.apache.commons.collections4.Trie;
 import org.apache.commons.collections4.trie.PatriciaTrie;
 import org.apache.commons.collections4.trie.UnmodifiableTrie;
@@ -14,10 +14,17 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationPropertyName.Form.UNIFORM;
 
-@Data
+/**
+ * A node of the trie of property names, nodes are compared by identity.
+ * <p>
+ * A node may be {@linkplain #deferred(Supplier) deferred}, its children are supplied on the first descent into it.
+ */
+@Getter
+@ToString(doNotUseGetters = true)
 public class NameTreeNode {
   private static final Logger LOG = Logger.getInstance(NameTreeNode.class);
   private final PatriciaTrie<NameTreeNode> children = new PatriciaTrie<>();
@@ -25,6 +32,35 @@ public class NameTreeNode {
   @Getter(AccessLevel.NONE)
   @Setter(AccessLevel.NONE)
   private IndexedType indexedType = IndexedType.NONE;
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private volatile Supplier<@Nullable NameTreeNode> expansion;
+
+
+  /**
+   * @param expansion Supplies the node whose children are the children of the deferred node.
+   * @return A node of the keys of a collection or a map, it is indexed, and its children are supplied by the
+   * expansion on the first descent into it. The expansion should not contain data of the node itself,
+   * which is not expanded by {@link #getData()}.
+   */
+  public static NameTreeNode deferred(Supplier<@Nullable NameTreeNode> expansion) {
+    NameTreeNode node = new NameTreeNode();
+    node.expansion = expansion;
+    return node;
+  }
+
+
+  /**
+   * @return A node that leads to the specified node by the name, the node is put as is.
+   */
+  public static NameTreeNode pathTo(PropertyName name, NameTreeNode node) {
+    for (int i = name.getNumberOfElements() - 1; i >= 0; i--) {
+      NameTreeNode parent = new NameTreeNode();
+      parent.children.put(parent.childKey(name.subName(i)), node);
+      node = parent;
+    }
+    return node;
+  }
 
 
   public static NameTreeNode merge(NameTreeNode n1, NameTreeNode n2) {
@@ -39,6 +75,15 @@ public class NameTreeNode {
     }
     dst.data.addAll(n1.data);
     dst.data.addAll(n2.data);
+    Supplier<NameTreeNode> e1 = n1.expansion, e2 = n2.expansion;
+    if (e1 != null && e2 != null) {
+      dst.expansion = () -> {
+        NameTreeNode x1 = e1.get(), x2 = e2.get();
+        return x1 == null ? x2 : x2 == null ? x1 : merge(x1, x2);
+      };
+    } else {
+      dst.expansion = e1 != null ? e1 : e2;
+    }
     n1.children.forEach((k, v) -> dst.children.merge(k, v, NameTreeNode::merge));
     n2.children.forEach((k, v) -> dst.children.merge(k, v, NameTreeNode::merge));
     return dst;
@@ -46,36 +91,44 @@ public class NameTreeNode {
 
 
   public Trie<String, NameTreeNode> getChildren() {
+    expand();
     return UnmodifiableTrie.unmodifiableTrie(children);
   }
 
 
   public boolean isIndexed() {
-    return this.indexedType != IndexedType.NONE;
+    return this.expansion != null || this.indexedType != IndexedType.NONE;
   }
 
 
   @Nullable
   public NameTreeNode findChild(PropertyName name) {
-    if (name.isEmpty()) return this;
-    NameTreeNode child;
+    NameTreeNode node = this;
+    for (int i = 0; node != null && i < name.getNumberOfElements(); i++) {
+      node = node.getChild(name, i);
+    }
+    return node;
+  }
+
+
+  /**
+   * @return the direct child of this node that matches the specified element of the name.
+   */
+  @Nullable
+  public NameTreeNode getChild(PropertyName name, int elementIndex) {
+    expand();
     if (this.indexedType == IndexedType.NON_NUMERIC) {
       assert this.children.size() == 1;
-      child = this.children.values().iterator().next();
+      return this.children.values().iterator().next();
     } else if (this.indexedType == IndexedType.NUMERIC) {
       assert this.children.size() == 1;
-      if (name.isNumericIndex(0)) {
-        child = this.children.values().iterator().next();
+      if (name.isNumericIndex(elementIndex)) {
+        return this.children.values().iterator().next();
       } else {
         return null;
       }
     } else {
-      child = this.children.get(name.getElement(0, UNIFORM));
-    }
-    if (child == null) {
-      return null;
-    } else {
-      return child.findChild(name.subName(1));
+      return this.children.get(name.getElement(elementIndex, UNIFORM));
     }
   }
 
@@ -85,6 +138,15 @@ public class NameTreeNode {
       this.data.add(value);
       return;
     }
+    NameTreeNode child = this.children.computeIfAbsent(childKey(name), k -> new NameTreeNode());
+    child.addChild(name.subName(1), value);
+  }
+
+
+  /**
+   * @return the key of the child for the first element of the name.
+   */
+  private String childKey(PropertyName name) {
     String key;
     if (name.isAnyNonNumericIndex(0)) {
       key = "*";
@@ -97,8 +159,27 @@ public class NameTreeNode {
     } else {
       key = name.getElement(0, UNIFORM);
     }
-    NameTreeNode child = this.children.computeIfAbsent(key, k -> new NameTreeNode());
-    child.addChild(name.subName(1), value);
+    return key;
+  }
+
+
+  private void expand() {
+    if (this.expansion == null) return;
+    synchronized (this) {
+      Supplier<NameTreeNode> expansion = this.expansion;
+      if (expansion == null) return;
+      NameTreeNode node = expansion.get();
+      if (node != null && !node.getChildren().isEmpty()) {
+        if (!this.children.isEmpty() && this.indexedType != node.indexedType) {
+          LOG.warn("Cannot expand " + node + " into a node of different children: " + this.children);
+        } else {
+          this.indexedType = node.indexedType;
+          node.children.forEach((k, v) -> this.children.merge(k, v, NameTreeNode::merge));
+        }
+      }
+      // Published after the children, readers that see no expansion see the children.
+      this.expansion = null;
+    }
   }
 
 
@@ -1,10 +1,6 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
 
-import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.PrefixMatcher;
-import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleUtilCore;
-import com.intellij.openapi.project.Project;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -37,18 +33,6 @@ abstract class AbstractValueProvider implements ValueProvider {
   }
 
 
-  @NotNull
-  protected Project getProject(@NotNull CompletionParameters completionParameters) {
-    return completionParameters.getPosition().getProject();
-  }
-
-
-  @NotNull
-  protected Module getModule(@NotNull CompletionParameters completionParameters) {
-    return Objects.requireNonNull(ModuleUtilCore.findModuleForPsiElement(completionParameters.getPosition()));
-  }
-
-
   @Contract("_,_,!null->!null")
   @Nullable
   protected <T> T getParameter(String key, Class<T> type, @Nullable T defaultValue) {
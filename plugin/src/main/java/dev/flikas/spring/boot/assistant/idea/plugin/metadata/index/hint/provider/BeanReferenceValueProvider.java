@@ -0,0 +1,63 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.util.InheritanceUtil;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.CompletionContext;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static com.intellij.openapi.project.DumbModeBlockedFunctionality.CodeCompletion;
+
+/**
+ * @see ConfigurationMetadata.Hint.ValueProvider.Type#SPRING_BEAN_REFERENCE
+ */
+public class BeanReferenceValueProvider extends AbstractValueProvider {
+  /**
+   * The fully qualified name of the bean class that should be assignable to the candidate.
+   * Typically used to filter out non-candidate beans.
+   */
+  private final String targetFQN;
+
+
+  BeanReferenceValueProvider(ConfigurationMetadata.Hint.ValueProvider metadata) {
+    super(metadata);
+
+    this.targetFQN = getParameter("target", String.class, null);
+  }
+
+
+  @Override
+  public Collection<Hint> provideValues(@NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher) {
+    PrefixMatcher matcher = getPrefixMatcher(prefixMatcher);
+    DumbService dumbService = DumbService.getInstance(context.project());
+    if (dumbService.isDumb()) {
+      dumbService.showDumbModeNotificationForFunctionality("Completion", CodeCompletion);
+      return Set.of();
+    }
+    List<Hint> hints = new ArrayList<>();
+    SpringBeanService beanService = SpringBeanService.getInstance(context.project());
+    for (SpringBeanService.Bean bean : beanService.findBeans(context.module(), matcher::prefixMatches)) {
+      if (isAssignable(bean.type(), targetFQN)) {
+        hints.add(new Hint(bean.name(), bean.type().getName(), null, AllIcons.Nodes.Class));
+      }
+    }
+    return hints;
+  }
+
+
+  private static boolean isAssignable(@NotNull PsiClass type, @Nullable String targetFQN) {
+    return StringUtils.isBlank(targetFQN) || targetFQN.equals(type.getQualifiedName())
+        || InheritanceUtil.isInheritor(type, targetFQN);
+  }
+}
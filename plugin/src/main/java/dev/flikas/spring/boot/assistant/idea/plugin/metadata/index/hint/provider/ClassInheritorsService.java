@@ -0,0 +1,250 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.concurrency.AsyncPromise;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Find inheritors of a class for class reference completion.
+ * <p>
+ * The hierarchy of a class is scanned in background, the result is cached until java structure in the project or
+ * libraries is changed. A query gets the inheritors found so far at once, and then the ones found later in batches
+ * until the scan finishes. The query can be canceled while waiting, e.g. by typing, the scan goes on, so the next
+ * query gets the result.
+ */
+@Service(Service.Level.PROJECT)
+public final class ClassInheritorsService implements Disposable {
+  private static final Logger LOG = Logger.getInstance(ClassInheritorsService.class);
+  /**
+   * How often a query waiting for a running scan checks whether it is canceled, and passes the new inheritors.
+   */
+  private static final int CHECK_CANCELED_INTERVAL_MILLIS = 20;
+  private final Project project;
+  private final ModificationTracker javaStructureTracker;
+  private final Map<ScanKey, Inheritors> cache = new ConcurrentHashMap<>();
+  private volatile long cacheStamp = -1;
+
+
+  public ClassInheritorsService(Project project) {
+    this.project = project;
+    this.javaStructureTracker = PsiTypeUtils.getJavaStructureModificationTracker(project);
+  }
+
+
+  public static ClassInheritorsService getInstance(Project project) {
+    return project.getService(ClassInheritorsService.class);
+  }
+
+
+  /**
+   * @param baseClassFQN The base class, is included in the result too if it meets the requirement.
+   * @param concrete     Whether only concrete classes are required.
+   * @param scope        Where to search the inheritors.
+   * @param matcher      Filter inheritors by their fully qualified names.
+   * @param consumer     Accepts batches of matched inheritors as they are found, on the caller's thread.
+   *                     Nothing more is accepted if the scan failed.
+   */
+  public void findInheritors(
+      @NotNull String baseClassFQN, boolean concrete, @NotNull GlobalSearchScope scope, @NotNull PrefixMatcher matcher,
+      @NotNull Consumer<List<Inheritor>> consumer
+  ) {
+    long stamp = javaStructureTracker.getModificationCount();
+    if (stamp != cacheStamp) {
+      synchronized (this) {
+        if (stamp != cacheStamp) {
+          cache.values().forEach(Inheritors::cancel);
+          cache.clear();
+          cacheStamp = stamp;
+        }
+      }
+    }
+    ScanKey key = new ScanKey(baseClassFQN, concrete, scope);
+    Inheritors inheritors = cache.get(key);
+    if (inheritors == null) {
+      Inheritors created = new Inheritors();
+      inheritors = cache.putIfAbsent(key, created);
+      if (inheritors == null) {
+        // Start the scan after the entry is in the cache, its callbacks may remove the entry right away.
+        inheritors = created;
+        scan(key, created);
+      }
+    }
+    boolean first = true;
+    int delivered = 0;
+    while (true) {
+      ProgressManager.checkCanceled();
+      SortedInheritors sorted;
+      try {
+        sorted = inheritors.result.blockingGet(first ? 0 : CHECK_CANCELED_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // Still running.
+        sorted = null;
+      } catch (ExecutionException | CancellationException e) {
+        return;
+      }
+      if (sorted != null && first) {
+        // Finished before the query, match with the sorted result.
+        consumer.accept(sorted.match(matcher));
+        return;
+      }
+      first = false;
+      List<Inheritor> found = inheritors.getFound(delivered);
+      delivered += found.size();
+      List<Inheritor> matched = found.stream().filter(i -> matcher.prefixMatches(i.qualifiedName())).toList();
+      if (!matched.isEmpty()) consumer.accept(matched);
+      if (sorted != null) return;
+    }
+  }
+
+
+  @Override
+  public void dispose() {
+    cache.values().forEach(Inheritors::cancel);
+    cache.clear();
+  }
+
+
+  private void scan(ScanKey key, Inheritors inheritors) {
+    CancellablePromise<SortedInheritors> promise = ReadAction.nonBlocking(() -> inheritors.scan(project, key))
+        .inSmartMode(project)
+        .expireWith(this)
+        .submit(AppExecutorUtil.getAppExecutorService());
+    inheritors.scan = promise;
+    promise.onSuccess(inheritors.result::setResult).onError(e -> {
+      // Scan again on next query.
+      cache.remove(key, inheritors);
+      if (!(e instanceof CancellationException)) {
+        LOG.warn("Failed to search inheritors of " + key.baseClassFQN(), e);
+      }
+      inheritors.result.setError(e);
+    });
+    if (inheritors.result.isCancelled()) promise.cancel();
+  }
+
+
+  public record Inheritor(@NotNull String qualifiedName, @NotNull PsiClass psiClass) {}
+
+
+  private record ScanKey(String baseClassFQN, boolean concrete, GlobalSearchScope scope) {}
+
+
+  /**
+   * Finished scan result, ordered by qualified name.
+   */
+  private record SortedInheritors(String[] names, Inheritor[] inheritors) {
+    private static SortedInheritors of(Collection<Inheritor> inheritors) {
+      Inheritor[] array = inheritors.toArray(new Inheritor[0]);
+      Arrays.sort(array, Comparator.comparing(Inheritor::qualifiedName));
+      return new SortedInheritors(Arrays.stream(array).map(Inheritor::qualifiedName).toArray(String[]::new), array);
+    }
+
+
+    private List<Inheritor> match(PrefixMatcher matcher) {
+      // Package of the class can be narrowed down by binary search, as the user is typing a qualified name.
+      // Matcher may be case-insensitive, but package names are lowercase in practice.
+      String packagePrefix = StringUtils.substringBeforeLast(matcher.getPrefix(), ".");
+      int from = 0;
+      if (!packagePrefix.equals(matcher.getPrefix()) && StringUtils.isAllLowerCase(packagePrefix.replace(".", ""))) {
+        packagePrefix = packagePrefix + ".";
+        from = Arrays.binarySearch(names, packagePrefix);
+        if (from < 0) from = -from - 1;
+      } else {
+        packagePrefix = "";
+      }
+      List<Inheritor> result = new ArrayList<>();
+      for (int i = from; i < names.length && names[i].startsWith(packagePrefix); i++) {
+        if (matcher.prefixMatches(names[i])) result.add(inheritors[i]);
+      }
+      return result;
+    }
+  }
+
+
+  private static class Inheritors {
+    /**
+     * Exists before the scan is started, so queries of other threads can wait for it.
+     */
+    private final AsyncPromise<SortedInheritors> result = new AsyncPromise<>();
+    /**
+     * Inheritors in the order they are found, guarded by itself. A restarted read action scans again from the
+     * beginning, only inheritors that were not found yet are appended, so queries can read from where they were.
+     */
+    private final List<Inheritor> found = new ArrayList<>();
+    private final Set<String> foundNames = new HashSet<>();
+    private volatile CancellablePromise<SortedInheritors> scan;
+
+
+    private SortedInheritors scan(Project project, ScanKey key) {
+      PsiClass baseClass = JavaPsiFacade.getInstance(project)
+          .findClass(key.baseClassFQN().replace('$', '.'), GlobalSearchScope.allScope(project));
+      if (baseClass == null) return SortedInheritors.of(List.of());
+      collect(baseClass, key.concrete());
+      ClassInheritorsSearch.search(baseClass, key.scope(), true).forEach(c -> {
+        ProgressManager.checkCanceled();
+        collect(c, key.concrete());
+        return true;
+      });
+      synchronized (found) {
+        return SortedInheritors.of(found);
+      }
+    }
+
+
+    private void collect(PsiClass psiClass, boolean concrete) {
+      if (concrete && (psiClass.isInterface() || psiClass.hasModifierProperty(PsiModifier.ABSTRACT))) return;
+      String name = psiClass.getQualifiedName();
+      if (StringUtils.isBlank(name)) return;
+      synchronized (found) {
+        if (foundNames.add(name)) found.add(new Inheritor(name, psiClass));
+      }
+    }
+
+
+    /**
+     * @return Inheritors found after the first {@code from} ones.
+     */
+    private List<Inheritor> getFound(int from) {
+      synchronized (found) {
+        return from < found.size() ? List.copyOf(found.subList(from, found.size())) : List.of();
+      }
+    }
+
+
+    private void cancel() {
+      result.cancel();
+      CancellablePromise<SortedInheritors> s = this.scan;
+      if (s != null) s.cancel();
+    }
+  }
+}
@@ -1,45 +1,37 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
 
-import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.PrefixMatcher;
 import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
 import com.intellij.icons.AllIcons;
-import com.intellij.openapi.application.ReadAction;
-import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.roots.ModuleRootManager;
-import com.intellij.openapi.vfs.VfsUtil;
-import com.intellij.openapi.vfs.VfsUtilCore;
-import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiEnumConstant;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
-import com.intellij.psi.impl.source.resolve.reference.impl.providers.FileInfoManager;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.util.ReflectionUtil;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.CompletionContext;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.jps.model.java.JavaResourceRootType;
 
+import javax.swing.*;
 import java.lang.reflect.Modifier;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -55,6 +47,10 @@ public class HandleAsValueProvider extends AbstractValueProvider {
       "java.util.Locale", new LocaleHandler(),
       "org.springframework.util.MimeType", new MimeTypeHandler(),
       "org.springframework.core.io.Resource", new ResourceHandler());
+  /**
+   * Type string -> handler, types of properties are limited, so handlers are reused instead of created per completion.
+   */
+  private static final Map<String, Handler> handlerCache = new ConcurrentHashMap<>();
   @NotNull private final String targetFQN;
 
 
@@ -66,6 +62,11 @@ public class HandleAsValueProvider extends AbstractValueProvider {
 
 
   public static Handler getHandler(String type) {
+    return handlerCache.computeIfAbsent(type, HandleAsValueProvider::createHandler);
+  }
+
+
+  private static Handler createHandler(String type) {
     // Removes potential collection or array type, we only need the value part of the type.
     Matcher matcher = COLLECTION_REMOVAL_PATTERN.matcher(type);
     if (matcher.matches()) {
@@ -79,46 +80,50 @@ public class HandleAsValueProvider extends AbstractValueProvider {
 
   @Override
   public Collection<Hint> provideValues(
-      @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher
+      @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher
   ) {
-    return getHandler(this.targetFQN).handle(completionParameters, prefixMatcher);
+    return getHandler(this.targetFQN).handle(context, prefixMatcher);
   }
 
 
   @FunctionalInterface
   public interface Handler {
-    Collection<Hint> handle(@NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher);
+    Collection<Hint> handle(@NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher);
   }
 
 
   private static class CharsetHandler implements Handler {
     private static final int TOP_PRIORITY = Integer.MAX_VALUE;
-    private static final List<Hint> STANDARD_CHARSETS = ReflectionUtil.collectFields(StandardCharsets.class)
-        .stream()
-        .filter(f -> Modifier.isStatic(f.getModifiers()) && f.canAccess(null))
-        .filter(f -> f.getType().equals(Charset.class))
-        .map(f -> (Charset) ReflectionUtil.getFieldValue(f, null))
-        .filter(Objects::nonNull)
-        .map(cs -> toHint(cs, TOP_PRIORITY))
-        .toList();
-
-
-    @Override
-    public Collection<Hint> handle(
-        @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher) {
-      List<Hint> result = new ArrayList<>();
-      PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
+    /**
+     * Charsets available in the JVM will not change, so they are collected only once.
+     */
+    private static final NotNullLazyValue<SortedHints> CHARSETS = NotNullLazyValue.lazy(() -> {
+      List<Hint> hints = new ArrayList<>();
       // Standard charsets is the first priority
-      STANDARD_CHARSETS.stream().filter(h -> matcher.prefixMatches(h.value())).forEach(result::add);
+      ReflectionUtil.collectFields(StandardCharsets.class)
+          .stream()
+          .filter(f -> Modifier.isStatic(f.getModifiers()) && f.canAccess(null))
+          .filter(f -> f.getType().equals(Charset.class))
+          .map(f -> (Charset) ReflectionUtil.getFieldValue(f, null))
+          .filter(Objects::nonNull)
+          .map(cs -> toHint(cs, TOP_PRIORITY))
+          .forEach(hints::add);
       // Try non-standard charsets, but it maybe not suitable for user
       // Because this is from the IDE's charset, not the user's spring application
       // Try Charsets that is IANA registered first, then all the others
       Charset.availableCharsets().values().stream()
-          .filter(cs -> matcher.prefixMatches(cs.name()))
           .filter(Charset::isRegistered)
           .map(cs -> toHint(cs, TOP_PRIORITY - (cs.isRegistered() ? 1 : 2)))
-          .forEach(result::add);
-      return result;
+          .forEach(hints::add);
+      return new SortedHints(hints);
+    });
+
+
+    @Override
+    public Collection<Hint> handle(
+        @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher) {
+      PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
+      return CHARSETS.getValue().match(matcher);
     }
 
 
@@ -129,29 +134,40 @@ public class HandleAsValueProvider extends AbstractValueProvider {
 
 
   private static class LocaleHandler implements Handler {
+    /**
+     * Locales and their display names are computed only once, as they are expensive and will not change.
+     */
+    private static final NotNullLazyValue<SortedHints> LOCALES = NotNullLazyValue.lazy(() -> new SortedHints(
+        // The return value must be convertible by {@link org.springframework.core.convert.support.StringToLocaleConverter}
+        // But this is the locals that installed on the developer's computer,
+        // may not suitable for he/she's application. Consider using all the ISO standard locale names?
+        Locale.availableLocales()
+            .map(Locale::stripExtensions)
+            .distinct()
+            .filter(l -> StringUtils.isNotBlank(l.getLanguage()))
+            .map(LocaleHandler::toHint)
+            .toList()));
+
+
     @Override
     public Collection<Hint> handle(
-        @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher) {
-      // The return value must be convertible by {@link org.springframework.core.convert.support.StringToLocaleConverter}
+        @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher) {
       PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
-      // But this is the locals that installed on the developer's computer,
-      // may not suitable for he/she's application. Consider using all the ISO standard locale names?
-      return Locale.availableLocales()
-          .map(Locale::stripExtensions)
-          .distinct()
-          .filter(l -> StringUtils.isNotBlank(l.getLanguage()) && matcher.prefixMatches(l.toString()))
-          .map(l -> {
-            int priority;
-            if (!StringUtils.isAllBlank(l.getVariant(), l.getScript())) {
-              priority = 2;
-            } else if (StringUtils.isNoneBlank(l.getLanguage(), l.getCountry())) {
-              priority = 0;
-            } else {
-              priority = 1;
-            }
-            return new Hint(l.toString(), l.getDisplayName(), l.getDisplayName(), AllIcons.Nodes.Enum,
-                Integer.MAX_VALUE - priority);
-          }).toList();
+      return LOCALES.getValue().match(matcher);
+    }
+
+
+    private static Hint toHint(Locale l) {
+      int priority;
+      if (!StringUtils.isAllBlank(l.getVariant(), l.getScript())) {
+        priority = 2;
+      } else if (StringUtils.isNoneBlank(l.getLanguage(), l.getCountry())) {
+        priority = 0;
+      } else {
+        priority = 1;
+      }
+      return new Hint(l.toString(), l.getDisplayName(), l.getDisplayName(), AllIcons.Nodes.Enum,
+          Integer.MAX_VALUE - priority);
     }
   }
 
@@ -190,7 +206,7 @@ public class HandleAsValueProvider extends AbstractValueProvider {
 
     @Override
     public Collection<Hint> handle(
-        @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher
+        @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher
     ) {
       PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
       return COMMON_MIME_TYPES.stream()
@@ -208,7 +224,7 @@ public class HandleAsValueProvider extends AbstractValueProvider {
   private static class ResourceHandler implements Handler {
     @Override
     public Collection<Hint> handle(
-        @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher
+        @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher
     ) {
       PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
       // If user ask for suggestion with empty String, we provide suggestion of 'classpath',
@@ -221,13 +237,6 @@ public class HandleAsValueProvider extends AbstractValueProvider {
         }
       }
       // Otherwise, we provide suggestion of files in resource roots
-      Module module = ModuleUtilCore.findModuleForPsiElement(completionParameters.getPosition());
-      if (module == null) return List.of();
-      HashSet<Module> allModules = new HashSet<>();
-      ModuleUtilCore.getDependencies(module, allModules);
-      List<VirtualFile> sourceRoots = allModules.stream()
-          .flatMap(m -> ModuleRootManager.getInstance(m).getSourceRoots(JavaResourceRootType.RESOURCE).stream())
-          .toList();
       String prefix;
       if (queryString.startsWith("classpath")) {
         int delimiterIndex = queryString.indexOf(':');
@@ -242,25 +251,16 @@ public class HandleAsValueProvider extends AbstractValueProvider {
       }
       queryString = StringUtils.removeStart(queryString, '/');
       PrefixMatcher filePathMatcher = new CamelHumpMatcher(queryString, false);
-      PsiManager psiManager = completionParameters.getPosition().getManager();
-      Set<Hint> hints = Collections.newSetFromMap(new ConcurrentHashMap<>());
-      sourceRoots.parallelStream()
-          .forEach(root -> VfsUtil.iterateChildrenRecursively(root, VirtualFile::isValid, fileOrDir -> {
-            if (fileOrDir.isDirectory()) return true;
-            String relPath = VfsUtilCore.getRelativePath(fileOrDir, root);
-            assert relPath != null;
-            if (filePathMatcher.prefixMatches(relPath)) {
-              PsiFile f = ReadAction.compute(() -> psiManager.findFile(fileOrDir));
-              if (f != null) {
-                ReadAction.run(() -> {
-                  String fileAdditionalInfo = FileInfoManager.getFileAdditionalInfo(f);
-                  hints.add(new Hint(prefix + relPath, fileAdditionalInfo, fileAdditionalInfo, f.getIcon(0)));
-                });
-              }
-            }
-            return true;
-          }));
-      return hints;
+      FileTypeRegistry fileTypeRegistry = FileTypeRegistry.getInstance();
+      return ResourcePathService.getInstance(context.project())
+          .findPaths(context.module(), filePathMatcher)
+          .stream()
+          .map(relPath -> {
+            Icon icon = fileTypeRegistry.getFileTypeByFileName(StringUtils.substringAfterLast("/" + relPath, "/"))
+                .getIcon();
+            return new Hint(prefix + relPath, Objects.requireNonNullElse(icon, AllIcons.FileTypes.Any_type));
+          })
+          .toList();
     }
   }
 
@@ -272,6 +272,11 @@ public class HandleAsValueProvider extends AbstractValueProvider {
    */
   @SuppressWarnings("ClassCanBeRecord")
   private static class DefaultHandler implements Handler {
+    private static final Key<CachedValue<Map<String, SortedHints>>> ENUM_CONSTANTS_CACHE_KEY =
+        Key.create("spring-boot-assistant.hint.enum-constants");
+    private static final SortedHints BOOLEAN_HINTS = new SortedHints(
+        Stream.of("true", "false").map(s -> new Hint(s, AllIcons.Nodes.Constant)).toList());
+    private static final SortedHints NO_HINTS = new SortedHints(List.of());
     private final String type;
 
 
@@ -282,31 +287,33 @@ public class HandleAsValueProvider extends AbstractValueProvider {
 
     @Override
     public Collection<Hint> handle(
-        @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher
+        @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher
     ) {
       PrefixMatcher matcher = Objects.requireNonNullElse(prefixMatcher, PrefixMatcher.ALWAYS_TRUE);
       if ("java.lang.Boolean".equals(this.type)) {
-        return Stream.of("true", "false")
-            .filter(matcher::prefixMatches)
-            .map(s -> new Hint(s, AllIcons.Nodes.Constant))
-            .toList();
+        return BOOLEAN_HINTS.match(matcher);
       } else {
-        Optional<PsiClass> propType = getUpperBoundClass(completionParameters.getEditor().getProject());
-        if (propType.filter(PsiClass::isEnum).isPresent()) {
-          return Arrays.stream(propType.get().getFields())
-              .filter(PsiEnumConstant.class::isInstance)
-              .filter(f -> matcher.prefixMatches(f.getName()))
-              .map(f -> new Hint(f.getName(), f))
-              .toList();
-        }
-        //As the last handler, we return empty list when we don't support this type.
-        return List.of();
+        // As the last handler, we return empty list when we don't support this type.
+        return getEnumConstants(context.project()).match(matcher);
       }
     }
 
 
-    private Optional<PsiClass> getUpperBoundClass(Project project) {
-      return Optional.ofNullable(PsiTypeUtils.findClass(project, this.type));
+    /**
+     * Constants of the enum are collected once, until java structure in the project or libraries is changed.
+     */
+    private SortedHints getEnumConstants(Project project) {
+      Map<String, SortedHints> cache = CachedValuesManager.getManager(project).getCachedValue(project,
+          ENUM_CONSTANTS_CACHE_KEY, () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+              PsiTypeUtils.getJavaStructureModificationTracker(project)), false);
+      return cache.computeIfAbsent(this.type, t -> {
+        PsiClass propType = PsiTypeUtils.findClass(project, t);
+        if (propType == null || !propType.isEnum()) return NO_HINTS;
+        return new SortedHints(Arrays.stream(propType.getFields())
+            .filter(PsiEnumConstant.class::isInstance)
+            .map(f -> new Hint(f.getName(), f))
+            .toList());
+      });
     }
   }
 }
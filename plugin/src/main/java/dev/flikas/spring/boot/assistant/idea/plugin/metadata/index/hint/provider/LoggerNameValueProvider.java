@@ -1,26 +1,24 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
 
-import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.PrefixMatcher;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiPackage;
+import com.intellij.psi.search.GlobalSearchScope;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.CompletionContext;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.yaml.YAMLUtil;
-import org.jetbrains.yaml.psi.YAMLDocument;
-import org.jetbrains.yaml.psi.YAMLFile;
-import org.jetbrains.yaml.psi.YAMLKeyValue;
-import org.jetbrains.yaml.psi.YAMLMapping;
-import org.jetbrains.yaml.psi.YAMLValue;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,12 +44,10 @@ public class LoggerNameValueProvider extends AbstractValueProvider {
 
 
   @Override
-  public Collection<Hint> provideValues(
-      @NotNull CompletionParameters completionParameters, @Nullable PrefixMatcher prefixMatcher
-  ) {
+  public Collection<Hint> provideValues(@NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher) {
     @NotNull PrefixMatcher matcher = getPrefixMatcher(prefixMatcher);
     // According to Spring's doc: "Typically, package and class names available in the current project can be auto-completed."
-    Project project = getProject(completionParameters);
+    Project project = context.project();
     DumbService dumbService = DumbService.getInstance(project);
     if (dumbService.isDumb()) {
       dumbService.showDumbModeNotificationForFunctionality("Completion", CodeCompletion);
@@ -59,40 +55,26 @@ public class LoggerNameValueProvider extends AbstractValueProvider {
     }
     enum Type {PACKAGE, CLASS, GROUP}
     Map<String, Type> candidates = new HashMap<>();
-    //TODO We need an index to accelerate query all the packages and classes in the world,
-    // this way takes too many time to give suggestions.
-//    dumbService.runReadActionInSmartMode(() -> {
-//      JavaShortClassNameIndex fqcnIndex = JavaShortClassNameIndex.getInstance();
-//      fqcnIndex.processAllKeys(project, key -> {
-//        ProgressManager.checkCanceled();
-//        Collection<PsiClass> classes = fqcnIndex.getClasses(key, project, ProjectScope.getAllScope(project));
-//        for (PsiClass aClass : classes) {
-//          String fqcn = aClass.getQualifiedName();
-//          if (fqcn == null) continue;
-//          try {
-//            if (!matcher.prefixMatches(fqcn)) continue;
-//            candidates.put(fqcn, Type.CLASS);
-//            char[] chars = fqcn.toCharArray();
-//            for (int i = 0; i < chars.length; i++) {
-//              if (chars[i] == '.') {
-//                String pkg = new String(chars, 0, i);
-//                if (!matcher.prefixMatches(pkg)) return true;
-//                candidates.put(pkg, Type.PACKAGE);
-//              }
-//            }
-//          } catch (Exception e) {
-//            LOG.warn("class name " + fqcn + " cannot be processed", e);
-//          }
-//        }
-//        return true;
-//      });
-//    });
+    // Packages and classes are enumerated level by level through the platform's package index,
+    // only children of the packages that user is typing in are visited.
+    GlobalSearchScope scope = context.module().getModuleWithDependenciesAndLibrariesScope(false);
+    for (PsiPackage psiPackage : findParentPackages(project, matcher.getPrefix(), scope)) {
+      for (PsiPackage subPackage : psiPackage.getSubPackages(scope)) {
+        String name = subPackage.getQualifiedName();
+        if (StringUtils.isNotBlank(name) && matcher.prefixMatches(name)) {
+          candidates.put(name, Type.PACKAGE);
+        }
+      }
+      for (PsiClass psiClass : psiPackage.getClasses(scope)) {
+        String name = psiClass.getQualifiedName();
+        if (StringUtils.isNotBlank(name) && matcher.prefixMatches(name)) {
+          candidates.put(name, Type.CLASS);
+        }
+      }
+    }
     if (this.group) {
       // Spring predefined logger groups is in the value hint, we don't need add them here.
-      // TODO Create an index for user-defined logger groups from yaml/properties configurations.
-      // find logger groups in this yaml document, I know it is not good enough,
-      // but this is easy to carry out and suitable for most of the use cases.
-      getLoggerGroups(completionParameters).stream()
+      LoggingGroupIndex.getLoggerGroups(context.module()).stream()
           .filter(matcher::prefixMatches)
           .forEach(g -> candidates.put(g, Type.GROUP));
     }
@@ -108,19 +90,40 @@ public class LoggerNameValueProvider extends AbstractValueProvider {
   }
 
 
-  private static Set<String> getLoggerGroups(CompletionParameters completionParameters) {
-    if (completionParameters.getOriginalFile() instanceof YAMLFile yamlFile) {
-      Set<String> groups = new HashSet<>();
-      for (YAMLDocument document : yamlFile.getDocuments()) {
-        YAMLKeyValue loggingGroup = YAMLUtil.getQualifiedKeyInDocument(document, List.of("logging", "group"));
-        if (loggingGroup == null) continue;
-        YAMLValue groupValue = loggingGroup.getValue();
-        if (groupValue instanceof YAMLMapping groupMapping) {
-          groupMapping.getKeyValues().stream().map(YAMLKeyValue::getKeyText).forEach(groups::add);
+  /**
+   * Packages that the prefix may be typing in, each segment but the last one of the prefix is either a package name,
+   * or an abbreviation of it, for example, {@code o.s.w} is typing in {@code org.springframework}.
+   * A segment that is the exact name of a package is not taken as an abbreviation of its siblings.
+   */
+  private static List<PsiPackage> findParentPackages(Project project, String prefix, GlobalSearchScope scope) {
+    PsiPackage root = JavaPsiFacade.getInstance(project).findPackage("");
+    if (root == null) return List.of();
+    List<PsiPackage> packages = List.of(root);
+    String[] segments = StringUtils.split(prefix, '.');
+    int depth = prefix.endsWith(".") ? segments.length : segments.length - 1;
+    for (int i = 0; i < depth && !packages.isEmpty(); i++) {
+      String segment = segments[i];
+      List<PsiPackage> next = new ArrayList<>();
+      for (PsiPackage psiPackage : packages) {
+        PsiPackage exact = null;
+        List<PsiPackage> abbreviated = new ArrayList<>();
+        for (PsiPackage subPackage : psiPackage.getSubPackages(scope)) {
+          String name = subPackage.getName();
+          if (name == null) continue;
+          if (name.equals(segment)) {
+            exact = subPackage;
+            break;
+          }
+          if (StringUtils.startsWithIgnoreCase(name, segment)) abbreviated.add(subPackage);
+        }
+        if (exact != null) {
+          next.add(exact);
+        } else {
+          next.addAll(abbreviated);
         }
       }
-      return groups;
+      packages = next;
     }
-    return Set.of();
+    return packages;
   }
 }
@@ -0,0 +1,145 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.text.CharSequenceReader;
+import dev.flikas.spring.boot.assistant.idea.plugin.filetype.SpringBootConfigurationYamlFileType;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationPropertyName.Form.ORIGINAL;
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.PLUGIN_INDEX_NAMESPACE;
+
+/**
+ * Index of user-defined logger groups, that are the keys of 'logging.group' in spring configuration files.
+ * <p>
+ * The properties plugin is optional, so properties files are recognized by their names,
+ * e.g. 'application-dev.properties', and parsed as plain text.
+ */
+public class LoggingGroupIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create(
+      PLUGIN_INDEX_NAMESPACE + LoggingGroupIndex.class.getSimpleName());
+  private static final List<String> LOGGING_GROUP_KEY = List.of("logging", "group");
+  private static final PropertyName LOGGING_GROUP = PropertyName.of("logging.group");
+  private static final Pattern PROPERTIES_FILE_NAME_PATTERN =
+      Pattern.compile("^(?:application|bootstrap)(?:-.+)?\\.properties$");
+
+
+  /**
+   * @return Logger groups that are defined in configuration files of the module and its dependencies.
+   */
+  public static @NotNull Set<String> getLoggerGroups(@NotNull Module module) {
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesScope(module);
+    Set<String> groups = new HashSet<>();
+    fileBasedIndex.processAllKeys(NAME, group -> {
+      // All keys may include ones from other modules, make sure it is defined in scope.
+      if (!fileBasedIndex.getContainingFiles(NAME, group, scope).isEmpty()) {
+        groups.add(group);
+      }
+      return true;
+    }, scope, null);
+    return groups;
+  }
+
+
+  @Override
+  public @NotNull ID<String, Void> getName() {
+    return NAME;
+  }
+
+
+  @Override
+  public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+    return inputData -> {
+      if (isPropertiesFile(inputData.getFile())) return indexPropertiesFile(inputData.getContentAsText());
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof YAMLFile yamlFile)) return Collections.emptyMap();
+      Map<String, Void> groups = new HashMap<>();
+      for (YAMLDocument document : yamlFile.getDocuments()) {
+        YAMLKeyValue loggingGroup = YAMLUtil.getQualifiedKeyInDocument(document, LOGGING_GROUP_KEY);
+        if (loggingGroup == null) continue;
+        if (loggingGroup.getValue() instanceof YAMLMapping groupMapping) {
+          for (YAMLKeyValue kv : groupMapping.getKeyValues()) {
+            String group = kv.getKeyText();
+            if (StringUtils.isNotBlank(group)) groups.put(group, null);
+          }
+        }
+      }
+      return groups;
+    };
+  }
+
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public int getVersion() {
+    return 2;
+  }
+
+
+  @Override
+  public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+    return file -> file.getFileType() == SpringBootConfigurationYamlFileType.INSTANCE || isPropertiesFile(file);
+  }
+
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+
+  private static boolean isPropertiesFile(VirtualFile file) {
+    return PROPERTIES_FILE_NAME_PATTERN.matcher(file.getName()).matches();
+  }
+
+
+  private static Map<String, Void> indexPropertiesFile(CharSequence text) {
+    Properties properties = new Properties();
+    try {
+      properties.load(new CharSequenceReader(text));
+    } catch (IOException | IllegalArgumentException e) {
+      // Malformed unicode escapes, the file is being edited.
+      return Collections.emptyMap();
+    }
+    Map<String, Void> groups = new HashMap<>();
+    for (String key : properties.stringPropertyNames()) {
+      PropertyName name = PropertyName.adapt(key);
+      if (!LOGGING_GROUP.isAncestorOf(name)) continue;
+      String group = name.getElement(LOGGING_GROUP.getNumberOfElements(), ORIGINAL);
+      if (StringUtils.isNotBlank(group)) groups.put(group, null);
+    }
+    return groups;
+  }
+}
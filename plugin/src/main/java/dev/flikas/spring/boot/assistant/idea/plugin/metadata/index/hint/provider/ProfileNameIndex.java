@@ -0,0 +1,204 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import dev.flikas.spring.boot.assistant.idea.plugin.filetype.SpringBootConfigurationYamlFileType;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.LightJavaTreeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLDocument;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLMapping;
+import org.jetbrains.yaml.psi.YAMLScalar;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+import org.jetbrains.yaml.psi.YAMLValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.PLUGIN_INDEX_NAMESPACE;
+
+/**
+ * Index of profile names that are mentioned in the project, from:
+ * <ul>
+ *   <li>Names of profile-specific configuration files, e.g. 'application-dev.yaml'.</li>
+ *   <li>'spring.config.activate.on-profile' and the legacy 'spring.profiles' in configuration files.</li>
+ *   <li>Groups and their members in 'spring.profiles.group'.</li>
+ *   <li>{@code @Profile} annotations of classes and methods in java sources.</li>
+ * </ul>
+ * Java files are read from their light tree, and only if they mention 'Profile' at all.
+ */
+public class ProfileNameIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create(
+      PLUGIN_INDEX_NAMESPACE + ProfileNameIndex.class.getSimpleName());
+  private static final String PROFILE_ANNOTATION = "org.springframework.context.annotation.Profile";
+  private static final Pattern PROFILE_FILE_NAME_PATTERN =
+      Pattern.compile("^(?:application|bootstrap)-(.+)\\.ya?ml$");
+  /**
+   * Profile expressions can have operators, e.g. 'production &amp; (us-east | eu-central)'.
+   */
+  private static final Pattern PROFILE_EXPRESSION_DELIMITER = Pattern.compile("[\\s!&|(),]+");
+  private static final List<String> ON_PROFILE_KEY = List.of("spring", "config", "activate", "on-profile");
+  private static final List<String> LEGACY_PROFILES_KEY = List.of("spring", "profiles");
+  private static final List<String> PROFILES_GROUP_KEY = List.of("spring", "profiles", "group");
+
+
+  /**
+   * @return Profile names that are mentioned in the module and its dependencies.
+   */
+  public static @NotNull Set<String> getProfileNames(@NotNull Module module) {
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesScope(module);
+    Set<String> profiles = new HashSet<>();
+    fileBasedIndex.processAllKeys(NAME, profile -> {
+      // All keys may include ones from other modules, make sure it is mentioned in scope.
+      if (!fileBasedIndex.getContainingFiles(NAME, profile, scope).isEmpty()) {
+        profiles.add(profile);
+      }
+      return true;
+    }, scope, null);
+    return profiles;
+  }
+
+
+  @Override
+  public @NotNull ID<String, Void> getName() {
+    return NAME;
+  }
+
+
+  @Override
+  public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+    return inputData -> {
+      if (inputData.getFileType() instanceof JavaFileType) return indexJavaFile(inputData);
+      if (!(inputData.getPsiFile() instanceof YAMLFile yamlFile)) return Collections.emptyMap();
+      Map<String, Void> profiles = new HashMap<>();
+      addProfiles(profiles, getProfileOfFileName(inputData.getFileName()));
+      collectProfiles(yamlFile, profiles);
+      return profiles;
+    };
+  }
+
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public int getVersion() {
+    return 3;
+  }
+
+
+  @Override
+  public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(SpringBootConfigurationYamlFileType.INSTANCE, JavaFileType.INSTANCE);
+  }
+
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+
+  /**
+   * @return The profile of a profile-specific configuration file, e.g. 'dev' of 'application-dev.yaml',
+   * or null if the file is not a profile-specific one.
+   */
+  static @Nullable String getProfileOfFileName(@NotNull String fileName) {
+    Matcher matcher = PROFILE_FILE_NAME_PATTERN.matcher(fileName);
+    return matcher.matches() ? matcher.group(1) : null;
+  }
+
+
+  private static void collectProfiles(YAMLFile yamlFile, Map<String, Void> profiles) {
+    for (YAMLDocument document : yamlFile.getDocuments()) {
+      addProfiles(profiles, YAMLUtil.getQualifiedKeyInDocument(document, ON_PROFILE_KEY));
+      YAMLKeyValue legacyProfiles = YAMLUtil.getQualifiedKeyInDocument(document, LEGACY_PROFILES_KEY);
+      if (legacyProfiles != null && !(legacyProfiles.getValue() instanceof YAMLMapping)) {
+        addProfiles(profiles, legacyProfiles);
+      }
+      YAMLKeyValue groups = YAMLUtil.getQualifiedKeyInDocument(document, PROFILES_GROUP_KEY);
+      if (groups != null && groups.getValue() instanceof YAMLMapping groupMapping) {
+        for (YAMLKeyValue group : groupMapping.getKeyValues()) {
+          addProfiles(profiles, group.getKeyText());
+          addProfiles(profiles, group);
+        }
+      }
+    }
+  }
+
+
+  private static Map<String, Void> indexJavaFile(FileContent inputData) {
+    // Most java files do not mention profiles at all, skip them before reading the tree.
+    if (!StringUtil.contains(inputData.getContentAsText(), "Profile")) return Collections.emptyMap();
+    LighterAST tree = LightJavaTreeUtils.getLighterAST(inputData);
+    if (tree == null) return Collections.emptyMap();
+    Map<String, Void> profiles = new HashMap<>();
+    LightJavaTreeUtils.processClasses(tree, (psiClass, shortName) -> {
+      addJavaProfiles(profiles, tree, psiClass);
+      for (LighterASTNode method : LightJavaTreeUtils.getMethods(tree, psiClass)) {
+        addJavaProfiles(profiles, tree, method);
+      }
+    });
+    return profiles;
+  }
+
+
+  private static void addJavaProfiles(Map<String, Void> profiles, LighterAST tree, LighterASTNode owner) {
+    for (LighterASTNode annotation : LightJavaTreeUtils.getAnnotations(tree, owner)) {
+      String name = LightJavaTreeUtils.getAnnotationName(tree, annotation);
+      if ("Profile".equals(name) || PROFILE_ANNOTATION.equals(name)) {
+        LightJavaTreeUtils.getStringValues(tree, annotation, "value").forEach(value -> addProfiles(profiles, value));
+      }
+    }
+  }
+
+
+  private static void addProfiles(Map<String, Void> profiles, @Nullable YAMLKeyValue keyValue) {
+    if (keyValue == null) return;
+    YAMLValue value = keyValue.getValue();
+    if (value instanceof YAMLScalar scalar) {
+      addProfiles(profiles, scalar.getTextValue());
+    } else if (value instanceof YAMLSequence sequence) {
+      for (YAMLSequenceItem item : sequence.getItems()) {
+        if (item.getValue() instanceof YAMLScalar scalar) {
+          addProfiles(profiles, scalar.getTextValue());
+        }
+      }
+    }
+  }
+
+
+  private static void addProfiles(Map<String, Void> profiles, @Nullable String expression) {
+    if (StringUtils.isBlank(expression)) return;
+    for (String profile : PROFILE_EXPRESSION_DELIMITER.split(expression)) {
+      if (StringUtils.isNotBlank(profile)) profiles.put(profile, null);
+    }
+  }
+}
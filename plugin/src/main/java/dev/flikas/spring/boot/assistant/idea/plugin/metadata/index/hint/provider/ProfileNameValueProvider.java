@@ -0,0 +1,39 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.DumbService;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.CompletionContext;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static com.intellij.openapi.project.DumbModeBlockedFunctionality.CodeCompletion;
+
+/**
+ * @see ConfigurationMetadata.Hint.ValueProvider.Type#SPRING_PROFILE_NAME
+ */
+public class ProfileNameValueProvider extends AbstractValueProvider {
+  ProfileNameValueProvider(ConfigurationMetadata.Hint.ValueProvider metadata) {
+    super(metadata);
+  }
+
+
+  @Override
+  public Collection<Hint> provideValues(@NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher) {
+    PrefixMatcher matcher = getPrefixMatcher(prefixMatcher);
+    DumbService dumbService = DumbService.getInstance(context.project());
+    if (dumbService.isDumb()) {
+      dumbService.showDumbModeNotificationForFunctionality("Completion", CodeCompletion);
+      return Set.of();
+    }
+    return ProfileNameIndex.getProfileNames(context.module()).stream()
+        .filter(matcher::prefixMatches)
+        .map(profile -> new Hint(profile, AllIcons.Nodes.Tag))
+        .toList();
+  }
+}
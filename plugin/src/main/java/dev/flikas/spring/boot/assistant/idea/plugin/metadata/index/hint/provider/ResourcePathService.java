@@ -0,0 +1,234 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.jps.model.java.JavaResourceRootType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Relative paths of files in resource roots, for completion of resource locations like 'classpath:static/index.html'.
+ * <p>
+ * Files in a resource root are collected on first query, then kept up to date by VFS events,
+ * so queries do not touch the file system. Queries run in read actions and VFS events are dispatched in write actions,
+ * so a root cannot be changed between collecting its files and caching them.
+ */
+@Service(Service.Level.PROJECT)
+public final class ResourcePathService implements Disposable {
+  private final Project project;
+  /**
+   * Path of a resource root -> sorted relative paths of files in it.
+   */
+  private final Map<String, NavigableSet<String>> rootPaths = new ConcurrentHashMap<>();
+  private volatile long rootsStamp = -1;
+
+
+  public ResourcePathService(Project project) {
+    this.project = project;
+    project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+        if (rootPaths.isEmpty()) return;
+        events.forEach(ResourcePathService.this::update);
+      }
+    });
+  }
+
+
+  public static ResourcePathService getInstance(Project project) {
+    return project.getService(ResourcePathService.class);
+  }
+
+
+  /**
+   * Paths that start with the matcher's prefix literally are read from a range of the sorted paths. Only if there are
+   * none, the user may be typing an abbreviation like 'st/ind' for 'static/index.html', then all paths are matched.
+   *
+   * @return Relative paths of files in resource roots of the module and its dependencies, that matches the matcher.
+   */
+  public @NotNull Collection<String> findPaths(@NotNull Module module, @NotNull PrefixMatcher matcher) {
+    long stamp = ProjectRootModificationTracker.getInstance(project).getModificationCount();
+    if (stamp != rootsStamp) {
+      synchronized (this) {
+        if (stamp != rootsStamp) {
+          // Resource roots may be changed, collect files again.
+          rootPaths.clear();
+          rootsStamp = stamp;
+        }
+      }
+    }
+    Set<Module> modules = new HashSet<>();
+    ModuleUtilCore.getDependencies(module, modules);
+    List<NavigableSet<String>> pathsOfRoots = new ArrayList<>();
+    for (Module m : modules) {
+      for (VirtualFile root : ModuleRootManager.getInstance(m).getSourceRoots(JavaResourceRootType.RESOURCE)) {
+        if (root.isValid()) pathsOfRoots.add(getPaths(root, stamp));
+      }
+    }
+    String prefix = matcher.getPrefix();
+    Set<String> result = new TreeSet<>();
+    for (NavigableSet<String> paths : pathsOfRoots) {
+      addMatches(result, paths.subSet(prefix, true, prefix + Character.MAX_VALUE, false), matcher);
+    }
+    if (result.isEmpty() && !prefix.isEmpty()) {
+      for (NavigableSet<String> paths : pathsOfRoots) {
+        addMatches(result, paths, matcher);
+      }
+    }
+    return result;
+  }
+
+
+  @Override
+  public void dispose() {
+    rootPaths.clear();
+  }
+
+
+  private NavigableSet<String> getPaths(VirtualFile root, long stamp) {
+    NavigableSet<String> paths = rootPaths.get(root.getPath());
+    if (paths != null) return paths;
+    // Collect outside the map's lock, it walks the whole root.
+    NavigableSet<String> collected = new ConcurrentSkipListSet<>();
+    collectPaths(collected, root, "");
+    synchronized (this) {
+      // Roots have been changed while collecting, do not cache files of a stale root.
+      if (stamp != rootsStamp) return collected;
+      paths = rootPaths.putIfAbsent(root.getPath(), collected);
+    }
+    return paths != null ? paths : collected;
+  }
+
+
+  private static void addMatches(Set<String> result, Collection<String> paths, PrefixMatcher matcher) {
+    for (String path : paths) {
+      if (matcher.prefixMatches(path)) result.add(path);
+    }
+  }
+
+
+  /**
+   * Collect relative paths of the file, or files in the directory.
+   *
+   * @param relPath relative path of the file or directory, or empty if it is the root.
+   */
+  private static void collectPaths(Collection<String> paths, VirtualFile fileOrDir, String relPath) {
+    if (!fileOrDir.isDirectory()) {
+      paths.add(relPath);
+      return;
+    }
+    String prefix = relPath.isEmpty() ? "" : relPath + "/";
+    VfsUtil.iterateChildrenRecursively(fileOrDir, VirtualFile::isValid, file -> {
+      if (!file.isDirectory()) {
+        String path = VfsUtilCore.getRelativePath(file, fileOrDir);
+        if (path != null) paths.add(prefix + path);
+      }
+      return true;
+    });
+  }
+
+
+  private void update(VFileEvent event) {
+    switch (event) {
+      case VFileCreateEvent create -> added(create.getPath(), create.getFile());
+      case VFileCopyEvent copy -> added(copy.getNewParent().getPath() + "/" + copy.getNewChildName(),
+          copy.findCreatedFile());
+      case VFileDeleteEvent delete -> moved(delete.getPath(), null, null);
+      // The path of a move event is the old path, the file may be moved into a root from outside.
+      case VFileMoveEvent move -> moved(move.getOldPath(), move.getNewPath(), move.getFile());
+      case VFilePropertyChangeEvent change when change.isRename() ->
+          moved(change.getOldPath(), change.getNewPath(), change.getFile());
+      // Content changes do not change paths.
+      default -> {}
+    }
+  }
+
+
+  private void added(String path, @Nullable VirtualFile file) {
+    if (file == null) return;
+    for (Map.Entry<String, NavigableSet<String>> entry : rootPaths.entrySet()) {
+      String relPath = getRelativePath(entry.getKey(), path);
+      if (relPath != null) collectPaths(entry.getValue(), file, relPath);
+    }
+  }
+
+
+  /**
+   * @param newPath null if the file is deleted.
+   */
+  private void moved(String oldPath, @Nullable String newPath, @Nullable VirtualFile file) {
+    for (Map.Entry<String, NavigableSet<String>> entry : rootPaths.entrySet()) {
+      String rootPath = entry.getKey();
+      if (rootPath.equals(oldPath) || rootPath.startsWith(oldPath + "/")) {
+        // The root itself is gone, collect it again if it is still a root.
+        rootPaths.remove(rootPath, entry.getValue());
+        continue;
+      }
+      NavigableSet<String> paths = entry.getValue();
+      String oldRelPath = getRelativePath(rootPath, oldPath);
+      String newRelPath = newPath != null ? getRelativePath(rootPath, newPath) : null;
+      List<String> removed = oldRelPath != null ? remove(paths, oldRelPath) : List.of();
+      if (newRelPath == null) continue;
+      if (oldRelPath != null) {
+        // Moved or renamed in the root, no need to walk the directory again.
+        for (String path : removed) {
+          paths.add(newRelPath + path.substring(oldRelPath.length()));
+        }
+      } else if (file != null) {
+        collectPaths(paths, file, newRelPath);
+      }
+    }
+  }
+
+
+  /**
+   * Remove the path and paths under it.
+   *
+   * @return removed paths.
+   */
+  private static List<String> remove(NavigableSet<String> paths, String relPath) {
+    List<String> removed = new ArrayList<>();
+    if (paths.remove(relPath)) removed.add(relPath);
+    NavigableSet<String> children = paths.subSet(relPath + "/", true, relPath + "/" + Character.MAX_VALUE, false);
+    removed.addAll(children);
+    children.clear();
+    return removed;
+  }
+
+
+  private static @Nullable String getRelativePath(String rootPath, String path) {
+    if (path.length() <= rootPath.length() + 1 || !path.startsWith(rootPath)
+        || path.charAt(rootPath.length()) != '/') {
+      return null;
+    }
+    return path.substring(rootPath.length() + 1);
+  }
+}
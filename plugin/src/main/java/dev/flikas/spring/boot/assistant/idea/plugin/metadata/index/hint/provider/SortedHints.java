@@ -0,0 +1,72 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable table of hints, sorted by value case-insensitively, for matching them by prefix.
+ * <p>
+ * Hints whose value starts with the prefix are found by binary search and go first, the rest are checked too,
+ * as matchers may match more than literal prefix (e.g. camel-hump, "jp" for "ja_JP").
+ */
+final class SortedHints {
+  private final String[] keys;
+  private final Hint[] hints;
+
+
+  /**
+   * @param hints Hints with duplicated value are ignored, only the first one is kept.
+   */
+  SortedHints(@NotNull Collection<Hint> hints) {
+    Map<String, Hint> distinct = new LinkedHashMap<>();
+    hints.forEach(h -> distinct.putIfAbsent(h.value(), h));
+    this.hints = distinct.values().stream()
+        .sorted(Comparator.comparing(h -> toKey(h.value())))
+        .toArray(Hint[]::new);
+    this.keys = Arrays.stream(this.hints).map(h -> toKey(h.value())).toArray(String[]::new);
+  }
+
+
+  /**
+   * @return matched hints, the ones whose value starts with the prefix go first.
+   */
+  @NotNull
+  List<Hint> match(@NotNull PrefixMatcher matcher) {
+    List<Hint> result = new ArrayList<>();
+    String prefix = toKey(matcher.getPrefix());
+    if (prefix.isEmpty()) {
+      filter(matcher, 0, hints.length, result);
+      return result;
+    }
+    int from = Arrays.binarySearch(keys, prefix);
+    if (from < 0) from = -from - 1;
+    int to = from;
+    while (to < keys.length && keys[to].startsWith(prefix)) to++;
+    filter(matcher, from, to, result);
+    filter(matcher, 0, from, result);
+    filter(matcher, to, hints.length, result);
+    return result;
+  }
+
+
+  private void filter(PrefixMatcher matcher, int from, int to, List<Hint> result) {
+    for (int i = from; i < to; i++) {
+      if (matcher.prefixMatches(hints[i].value())) result.add(hints[i]);
+    }
+  }
+
+
+  private static String toKey(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+}
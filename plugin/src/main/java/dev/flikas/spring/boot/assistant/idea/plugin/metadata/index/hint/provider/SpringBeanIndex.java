@@ -0,0 +1,202 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.LightJavaTreeUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.PLUGIN_INDEX_NAMESPACE;
+
+/**
+ * Index of bean candidates declared in java sources, from bean name to the declarations.
+ * <p>
+ * References cannot be resolved while indexing, so every annotation of a class is a candidate of a stereotype, the
+ * bean is named by the 'value' of the annotation or after the class. {@link SpringBeanService} keeps the ones whose
+ * annotation is a stereotype, such as user-defined annotations meta-annotated with {@code @Component}.
+ * Methods annotated with {@code @Bean} are named by the 'name' or 'value' of it, or after the method.
+ * <p>
+ * The index reads the light tree of java files, which is shared with the java indexes of the platform.
+ */
+public class SpringBeanIndex extends FileBasedIndexExtension<String, List<SpringBeanIndex.Declaration>> {
+  public static final ID<String, List<Declaration>> NAME = ID.create(
+      PLUGIN_INDEX_NAMESPACE + SpringBeanIndex.class.getSimpleName());
+  static final String BEAN = "org.springframework.context.annotation.Bean";
+
+
+  @Override
+  public @NotNull ID<String, List<Declaration>> getName() {
+    return NAME;
+  }
+
+
+  @Override
+  public @NotNull DataIndexer<String, List<Declaration>, FileContent> getIndexer() {
+    return inputData -> {
+      LighterAST tree = LightJavaTreeUtils.getLighterAST(inputData);
+      if (tree == null) return Collections.emptyMap();
+      Map<String, List<Declaration>> beans = new HashMap<>();
+      String packageName = LightJavaTreeUtils.getPackageName(tree);
+      List<String> imports = LightJavaTreeUtils.getImports(tree);
+      LightJavaTreeUtils.processClasses(tree, (psiClass, shortName) -> {
+        if (LightJavaTreeUtils.isAnnotationType(tree, psiClass)) return;
+        String className = packageName.isEmpty() ? shortName : packageName + "." + shortName;
+        for (LighterASTNode annotation : LightJavaTreeUtils.getAnnotations(tree, psiClass)) {
+          String annotationName = LightJavaTreeUtils.getAnnotationName(tree, annotation);
+          if (annotationName == null || isBean(annotationName)) continue;
+          List<String> names = LightJavaTreeUtils.getStringValues(tree, annotation, "value");
+          String beanName = names.isEmpty() ? SpringBeanService.getDefaultBeanName(shortName) : names.getFirst();
+          beans.computeIfAbsent(beanName, k -> new ArrayList<>())
+              .add(new Declaration(annotationName, List.of(className)));
+        }
+        for (LighterASTNode method : LightJavaTreeUtils.getMethods(tree, psiClass)) {
+          collectBeanMethod(tree, method, packageName, imports, beans);
+        }
+      });
+      return beans;
+    };
+  }
+
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public @NotNull DataExternalizer<List<Declaration>> getValueExternalizer() {
+    return new DataExternalizer<>() {
+      @Override
+      public void save(@NotNull DataOutput out, List<Declaration> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (Declaration declaration : value) {
+          out.writeBoolean(declaration.stereotype() != null);
+          if (declaration.stereotype() != null) IOUtil.writeUTF(out, declaration.stereotype());
+          DataInputOutputUtil.writeINT(out, declaration.types().size());
+          for (String type : declaration.types()) {
+            IOUtil.writeUTF(out, type);
+          }
+        }
+      }
+
+
+      @Override
+      public List<Declaration> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<Declaration> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          String stereotype = in.readBoolean() ? IOUtil.readUTF(in) : null;
+          int typeCount = DataInputOutputUtil.readINT(in);
+          List<String> types = new ArrayList<>(typeCount);
+          for (int j = 0; j < typeCount; j++) {
+            types.add(IOUtil.readUTF(in));
+          }
+          result.add(new Declaration(stereotype, types));
+        }
+        return result;
+      }
+    };
+  }
+
+
+  @Override
+  public int getVersion() {
+    return 2;
+  }
+
+
+  @Override
+  public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+  }
+
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+
+  private static void collectBeanMethod(
+      LighterAST tree, LighterASTNode method, String packageName, List<String> imports,
+      Map<String, List<Declaration>> beans
+  ) {
+    for (LighterASTNode annotation : LightJavaTreeUtils.getAnnotations(tree, method)) {
+      String annotationName = LightJavaTreeUtils.getAnnotationName(tree, annotation);
+      if (annotationName == null || !isBean(annotationName)) continue;
+      String returnType = LightJavaTreeUtils.getReturnTypeName(tree, method);
+      if (returnType == null) return;
+      List<String> names = LightJavaTreeUtils.getStringValues(tree, annotation, "name");
+      if (names.isEmpty()) names = LightJavaTreeUtils.getStringValues(tree, annotation, "value");
+      if (names.isEmpty()) {
+        String methodName = LightJavaTreeUtils.getName(tree, method);
+        if (methodName == null) return;
+        names = List.of(methodName);
+      }
+      Declaration declaration = new Declaration(null, getTypeCandidates(returnType, packageName, imports));
+      for (String name : names) {
+        beans.computeIfAbsent(name, k -> new ArrayList<>()).add(declaration);
+      }
+      return;
+    }
+  }
+
+
+  private static boolean isBean(String annotationName) {
+    return annotationName.equals("Bean") || annotationName.equals(BEAN);
+  }
+
+
+  /**
+   * @return Qualified names that the type name may refer to, in the order of java's name resolution.
+   */
+  private static List<String> getTypeCandidates(String typeName, String packageName, List<String> imports) {
+    String first = typeName.contains(".") ? typeName.substring(0, typeName.indexOf('.')) : typeName;
+    String rest = typeName.substring(first.length());
+    // By convention, a qualified name starts with a package, or else with a class, e.g. 'Outer.Inner'.
+    if (!rest.isEmpty() && Character.isLowerCase(first.charAt(0))) return List.of(typeName);
+    List<String> candidates = new ArrayList<>();
+    for (String imported : imports) {
+      if (!imported.endsWith(".*") && imported.endsWith("." + first)) {
+        return List.of(imported + rest);
+      }
+    }
+    candidates.add(packageName.isEmpty() ? typeName : packageName + "." + typeName);
+    for (String imported : imports) {
+      if (imported.endsWith(".*")) {
+        candidates.add(imported.substring(0, imported.length() - 1) + typeName);
+      }
+    }
+    candidates.add("java.lang." + typeName);
+    return candidates;
+  }
+
+
+  /**
+   * @param stereotype The annotation of the class as it is written, or null for {@code @Bean} methods.
+   * @param types      Qualified names that the type of the bean may be, as references are not resolved.
+   */
+  public record Declaration(@Nullable String stereotype, @NotNull List<String> types) {}
+}
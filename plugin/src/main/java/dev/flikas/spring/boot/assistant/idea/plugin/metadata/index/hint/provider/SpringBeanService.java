@@ -0,0 +1,134 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.MetaAnnotationUtil;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider.SpringBeanIndex.Declaration;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Spring beans declared in java sources of a module and its dependencies.
+ * <p>
+ * Beans are classes annotated with {@code @Component}, or annotations meta-annotated with it, such as
+ * {@code @Service} or user-defined stereotypes, and methods annotated with {@code @Bean}. They are looked up by name
+ * in {@link SpringBeanIndex}, which is updated per file, only the stereotypes are cached per module until java
+ * structure is changed.
+ */
+@Service(Service.Level.PROJECT)
+public final class SpringBeanService {
+  private static final String COMPONENT = "org.springframework.stereotype.Component";
+  private static final Key<CachedValue<Set<String>>> STEREOTYPES_CACHE_KEY =
+      Key.create("spring-boot-assistant.hint.spring-bean-stereotypes");
+  private final Project project;
+
+
+  public SpringBeanService(Project project) {
+    this.project = project;
+  }
+
+
+  public static SpringBeanService getInstance(Project project) {
+    return project.getService(SpringBeanService.class);
+  }
+
+
+  /**
+   * @param nameFilter Filter bean names before their declarations are read from the index, e.g. by the prefix.
+   * @return Beans declared in the module and its dependencies, the caller should hold a read action in smart mode.
+   */
+  public @NotNull List<Bean> findBeans(@NotNull Module module, @NotNull Predicate<String> nameFilter) {
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesScope(module);
+    List<String> names = new ArrayList<>();
+    fileBasedIndex.processAllKeys(SpringBeanIndex.NAME, name -> {
+      if (nameFilter.test(name)) names.add(name);
+      return true;
+    }, scope, null);
+    if (names.isEmpty()) return List.of();
+    Set<String> stereotypes = getStereotypes(module);
+    JavaPsiFacade javaPsiFacade = JavaPsiFacade.getInstance(project);
+    GlobalSearchScope typeScope = module.getModuleWithDependenciesAndLibrariesScope(false);
+    // A class may be annotated with more than one stereotype.
+    Set<Bean> beans = new LinkedHashSet<>();
+    for (String name : names) {
+      // All keys may include ones from other modules, values are read in scope only.
+      for (List<Declaration> declarations : fileBasedIndex.getValues(SpringBeanIndex.NAME, name, scope)) {
+        for (Declaration declaration : declarations) {
+          if (declaration.stereotype() != null && !stereotypes.contains(declaration.stereotype())) continue;
+          for (String type : declaration.types()) {
+            PsiClass psiClass = javaPsiFacade.findClass(type, typeScope);
+            if (psiClass != null) {
+              beans.add(new Bean(name, psiClass));
+              break;
+            }
+          }
+        }
+      }
+    }
+    return List.copyOf(beans);
+  }
+
+
+  /**
+   * @return Qualified and simple names of {@code @Component} and annotations meta-annotated with it, as annotations
+   * are indexed by the names written in sources.
+   */
+  private Set<String> getStereotypes(Module module) {
+    return CachedValuesManager.getManager(project).getCachedValue(module, STEREOTYPES_CACHE_KEY, () -> {
+      Set<String> names = new HashSet<>();
+      for (PsiClass stereotype : MetaAnnotationUtil.getAnnotationTypesWithChildren(module, COMPONENT, false)) {
+        String qualifiedName = stereotype.getQualifiedName();
+        if (qualifiedName == null) continue;
+        names.add(qualifiedName);
+        names.add(StringUtils.substringAfterLast(qualifiedName, "."));
+      }
+      return CachedValueProvider.Result.create(Set.copyOf(names),
+          PsiTypeUtils.getJavaStructureModificationTracker(project));
+    }, false);
+  }
+
+
+  /**
+   * Same as AnnotationBeanNameGenerator, nested class 'Outer.Inner' is named as 'outer.Inner' by default.
+   *
+   * @param shortName Name of the class relative to its package.
+   */
+  static @NotNull String getDefaultBeanName(@NotNull String shortName) {
+    return decapitalize(shortName);
+  }
+
+
+  /**
+   * @see java.beans.Introspector#decapitalize(String)
+   */
+  private static String decapitalize(String name) {
+    if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+      return name;
+    }
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+
+  /**
+   * @param type The class of the bean, or the return type of the {@code @Bean} method.
+   */
+  public record Bean(@NotNull String name, @NotNull PsiClass type) {}
+}
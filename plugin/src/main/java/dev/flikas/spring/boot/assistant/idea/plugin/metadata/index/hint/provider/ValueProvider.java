@@ -1,13 +1,14 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
 
-import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.PrefixMatcher;
+import dev.flikas.spring.boot.assistant.idea.plugin.completion.CompletionContext;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationMetadata;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Spring configuration metadata hint, value providers.
@@ -21,8 +22,8 @@ public interface ValueProvider {
       case CLASS_REFERENCE -> new ClassReferenceValueProvider(metadata);
       case HANDLE_AS -> new HandleAsValueProvider(metadata);
       case LOGGER_NAME -> new LoggerNameValueProvider(metadata);
-      case SPRING_BEAN_REFERENCE -> null;
-      case SPRING_PROFILE_NAME -> null;
+      case SPRING_BEAN_REFERENCE -> new BeanReferenceValueProvider(metadata);
+      case SPRING_PROFILE_NAME -> new ProfileNameValueProvider(metadata);
     };
   }
 
@@ -32,8 +33,16 @@ public interface ValueProvider {
 
   ConfigurationMetadata.Hint.ValueProvider getMetadata();
 
-  Collection<Hint> provideValues(
-      @NotNull CompletionParameters completionParameters,
-      @Nullable PrefixMatcher prefixMatcher
-  );
+  Collection<Hint> provideValues(@NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher);
+
+  /**
+   * Provide values in batches as they are found, so the first ones can be shown while the rest is being searched.
+   * By default, all values are provided in one batch.
+   */
+  default void provideValues(
+      @NotNull CompletionContext context, @Nullable PrefixMatcher prefixMatcher,
+      @NotNull Consumer<Collection<Hint>> consumer
+  ) {
+    consumer.accept(provideValues(context, prefixMatcher));
+  }
 }
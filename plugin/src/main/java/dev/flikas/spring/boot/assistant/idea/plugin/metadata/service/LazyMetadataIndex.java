@@ -0,0 +1,180 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.service;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataGroup;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataHint;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataSource;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.NameTreeNode;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An index of keys under a base name, which is generated on the first lookup of a key under the base name.
+ * <p>
+ * Lookups of other keys are answered without generating the index, lookups of the whole key space,
+ * such as {@link #getProperties()}, generate it. Fuzzy searches and {@link #getGroups()} answer from the index
+ * only if it has been generated, and trie nodes of ancestors of the base name lead to a
+ * {@linkplain NameTreeNode#deferred(java.util.function.Supplier) deferred} node of the base name, so the first
+ * completion or inspection does not generate every lazy index.
+ */
+class LazyMetadataIndex implements MetadataIndex {
+  @NotNull private final Project project;
+  @NotNull private final PropertyName baseName;
+  @NotNull private final Supplier<@Nullable MetadataIndex> generator;
+  private volatile MetadataIndex index = null;
+
+
+  LazyMetadataIndex(
+      @NotNull Project project, @NotNull PropertyName baseName, @NotNull Supplier<@Nullable MetadataIndex> generator
+  ) {
+    this.project = project;
+    this.baseName = baseName;
+    this.generator = generator;
+  }
+
+
+  @Override
+  public boolean isEmpty() {
+    MetadataIndex index = this.index;
+    // Keys are generated only for types that are supposed to have some, it is not worth generating them here.
+    return index != null && index.isEmpty();
+  }
+
+
+  @Override
+  public @NotNull Project project() {
+    return project;
+  }
+
+
+  @Override
+  public @NotNull List<MetadataSource> getSource() {
+    MetadataIndex index = this.index;
+    return index != null ? index.getSource() : Collections.emptyList();
+  }
+
+
+  @Override
+  public @NotNull Map<PropertyName, MetadataGroup> getGroups() {
+    // Generated metadata contains properties only.
+    MetadataIndex index = this.index;
+    return index != null ? index.getGroups() : Collections.emptyMap();
+  }
+
+
+  @Override
+  public @NotNull Map<PropertyName, MetadataProperty> getProperties() {
+    return getIndex().getProperties();
+  }
+
+
+  @Override
+  public @NotNull Map<PropertyName, MetadataHint> getHints() {
+    return getIndex().getHints();
+  }
+
+
+  @Override
+  public @Nullable MetadataGroup getGroup(PropertyName name) {
+    return isUnderBaseName(name) ? getIndex().getGroup(name) : null;
+  }
+
+
+  @Override
+  public @Nullable MetadataProperty getProperty(PropertyName name) {
+    return isUnderBaseName(name) ? getIndex().getProperty(name) : null;
+  }
+
+
+  @Override
+  public @Nullable MetadataProperty getNearestParentProperty(PropertyName name) {
+    return isUnderBaseName(name) ? getIndex().getNearestParentProperty(name) : null;
+  }
+
+
+  @Override
+  public @Nullable MetadataHint getHint(PropertyName name) {
+    return isUnderBaseName(name) ? getIndex().getHint(name) : null;
+  }
+
+
+  @Override
+  public @Nullable MetadataItem getPropertyOrGroup(PropertyName name) {
+    return isUnderBaseName(name) ? getIndex().getPropertyOrGroup(name) : null;
+  }
+
+
+  @Override
+  public @NotNull List<MetadataProperty> getPropertiesOnPath(PropertyName name) {
+    return isUnderBaseName(name)
+        ? getIndex().getPropertiesOnPath(name)
+        : Collections.nCopies(name.getNumberOfElements(), null);
+  }
+
+
+  @Override
+  public @Nullable NameTreeNode findInNameTrie(PropertyName prefix) {
+    if (isUnderBaseName(prefix)) {
+      return getIndex().findInNameTrie(prefix);
+    }
+    if (!prefix.isEmpty() && !prefix.isAncestorOf(baseName)) {
+      return null;
+    }
+    MetadataIndex index = this.index;
+    if (index != null) {
+      return index.findInNameTrie(prefix);
+    }
+    // The trie node of an ancestor of the base name contains the keys under the base name too,
+    // they are generated only when someone descends into the node of the base name.
+    return NameTreeNode.pathTo(baseName.subName(prefix.getNumberOfElements()),
+        NameTreeNode.deferred(() -> getIndex().findInNameTrie(baseName)));
+  }
+
+
+  @Override
+  public @NotNull List<MetadataItem> searchByName(PropertyName parent, String query) {
+    if (isUnderBaseName(parent)) {
+      return getIndex().searchByName(parent, query);
+    }
+    MetadataIndex index = this.index;
+    return index != null ? index.searchByName(parent, query) : Collections.emptyList();
+  }
+
+
+  @Override
+  public String toString() {
+    return "Lazy metadata index of " + baseName;
+  }
+
+
+  private boolean isUnderBaseName(PropertyName name) {
+    return baseName.equals(name) || baseName.isAncestorOf(name);
+  }
+
+
+  private @NotNull MetadataIndex getIndex() {
+    MetadataIndex index = this.index;
+    if (index != null) return index;
+    // Types cannot be resolved in dumb mode, try again later.
+    if (DumbService.isDumb(project)) return MetadataIndex.empty(project);
+    // No lock here, the generator may wait for a read action. Concurrent generations are cheap, as the metadata
+    // of types is cached by ProjectClassMetadataService, the first one wins.
+    MetadataIndex generated = generator.get();
+    synchronized (this) {
+      if (this.index == null) {
+        this.index = generated != null ? generated : MetadataIndex.empty(project);
+      }
+      return this.index;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.metadata.service;
 
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.AggregatedMetadataIndex;
@@ -15,7 +16,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.Optional;
 
 /**
  * A container of a loaded metadata file, can auto-reload while the file has changed or removed.
@@ -51,28 +51,44 @@ class MetadataFileContainer implements MutableReference<MetadataIndex> {
     } else if (!this.source.isChanged()) {
       return;
     }
-    try {
-      AggregatedMetadataIndex index = new AggregatedMetadataIndex(
-          new ConfigurationMetadataIndex(this.source, this.project));
-      // Spring does not create metadata for types in collections, we should create it by ourselves and expand our index,
-      // to better support code-completion, documentation, navigation, etc.
-      for (MetadataProperty property : index.getProperties().values()) {
-        resolvePropertyType(property).ifPresent(index::addFirst);
-      }
+    // Types of all properties are analysed in one read action.
+    MetadataIndex index = DumbService.getInstance(this.project).runReadActionInSmartMode(this::createIndex);
+    if (index != null) {
       this.metadata = index;
+    }
+  }
+
+
+  @Nullable
+  private MetadataIndex createIndex() {
+    ConfigurationMetadataIndex fileIndex;
+    try {
+      fileIndex = new ConfigurationMetadataIndex(this.source, this.project);
     } catch (IOException e) {
       LOG.warn("Read metadata file " + this.source.getPresentation() + " failed", e);
+      return null;
+    }
+    AggregatedMetadataIndex index = new AggregatedMetadataIndex(fileIndex);
+    // Spring does not create metadata for types in collections, we should create it by ourselves and expand our index,
+    // to better support code-completion, documentation, navigation, etc.
+    // The metadata is generated on the first lookup of a key under the property, not here for all properties.
+    for (MetadataProperty property : fileIndex.getProperties().values()) {
+      if (property.getFullType().filter(t -> PsiTypeUtils.isCollectionOrMap(project, t)).isPresent()) {
+        index.addFirst(new LazyMetadataIndex(project, property.getName(), () -> resolvePropertyType(property)));
+      }
     }
+    return index;
   }
 
 
   /**
    * @see ConfigurationMetadata.Property#getType()
    */
-  @NotNull
-  private Optional<MetadataIndex> resolvePropertyType(@NotNull MetadataProperty property) {
-    return property.getFullType().filter(t -> PsiTypeUtils.isCollectionOrMap(project, t))
-        .flatMap(t -> project.getService(ProjectClassMetadataService.class).getMetadata(property.getNameStr(), t));
+  @Nullable
+  private MetadataIndex resolvePropertyType(@NotNull MetadataProperty property) {
+    return DumbService.getInstance(project).runReadActionInSmartMode(() -> property.getFullType()
+        .flatMap(t -> project.getService(ProjectClassMetadataService.class).getMetadata(property.getNameStr(), t))
+        .orElse(null));
   }
 
 
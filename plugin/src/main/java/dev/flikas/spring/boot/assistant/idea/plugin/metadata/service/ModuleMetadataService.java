@@ -2,6 +2,7 @@ package dev.flikas.spring.boot.assistant.idea.plugin.metadata.service;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,4 +17,10 @@ public interface ModuleMetadataService {
    */
   @NotNull MetadataIndex getIndex();
 
+  /**
+   * @return Tracker of changes of this module's metadata, which is refreshed in place.
+   * Its count only increases, on every change of the index or of any of its sources.
+   */
+  @NotNull ModificationTracker getModificationTracker();
+
 }
@@ -6,21 +6,26 @@ import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.search.GlobalSearchScope;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.AggregatedMetadataIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.FileMetadataSource;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataSource;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.ModuleRootUtils;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,7 +33,13 @@ final class ModuleMetadataServiceImpl implements ModuleMetadataService {
   private static final Logger LOG = Logger.getInstance(ModuleMetadataServiceImpl.class);
   private final Project project;
   private final Module module;
-  private MetadataIndex index;
+  private final SimpleModificationTracker modificationTracker = new SimpleModificationTracker();
+  private volatile MetadataIndex index;
+  // Sources and their modification counts seen by the last check of the tracker, guarded by itself,
+  // not by this service, which is held while refreshing metadata in smart mode.
+  private final Object sourcesLock = new Object();
+  private List<MetadataSource> lastSources = List.of();
+  private long[] lastSourceStamps = new long[0];
 
 
   public ModuleMetadataServiceImpl(Module module) {
@@ -46,6 +57,34 @@ final class ModuleMetadataServiceImpl implements ModuleMetadataService {
   }
 
 
+  @Override
+  public @NotNull ModificationTracker getModificationTracker() {
+    return () -> {
+      checkSources();
+      return modificationTracker.getModificationCount();
+    };
+  }
+
+
+  /**
+   * Sources are reloaded or removed in place by themselves, so compare them with the last seen ones.
+   */
+  private void checkSources() {
+    List<MetadataSource> sources = this.index.getSource();
+    long[] stamps = new long[sources.size()];
+    for (int i = 0; i < stamps.length; i++) {
+      stamps[i] = sources.get(i).getSource().getModificationCount();
+    }
+    synchronized (this.sourcesLock) {
+      if (!sources.equals(this.lastSources) || !Arrays.equals(stamps, this.lastSourceStamps)) {
+        this.lastSources = List.copyOf(sources);
+        this.lastSourceStamps = stamps;
+        this.modificationTracker.incModificationCount();
+      }
+    }
+  }
+
+
   synchronized void refreshMetadata() {
     refreshMetadata(Collections.emptySet());
   }
@@ -88,6 +127,7 @@ final class ModuleMetadataServiceImpl implements ModuleMetadataService {
     if (!meta.isEmpty()) {
       this.index = meta;
     }
+    this.modificationTracker.incModificationCount();
   }
 
 
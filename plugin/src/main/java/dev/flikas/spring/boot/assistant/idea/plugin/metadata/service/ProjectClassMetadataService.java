@@ -5,6 +5,7 @@ import com.intellij.openapi.components.Service;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiField;
@@ -13,6 +14,9 @@ import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiPrimitiveType;
 import com.intellij.psi.PsiTreeChangeAdapter;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PropertyUtil;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.AggregatedMetadataIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.ConfigurationMetadataIndex;
@@ -23,7 +27,11 @@ import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName
 import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils.getCanonicalTextOfType;
 import static java.util.function.Predicate.not;
@@ -31,11 +39,14 @@ import static java.util.function.Predicate.not;
 /**
  * Service that provides {@link MetadataIndex} from {@link MetadataProperty#getFullType()}.
  * <p>
- * And watch for update continuously.
+ * Metadata of a type is generated with names relative to the property, and cached by the type until any java
+ * structure is changed, so properties of the same type share one generation.
  */
 @Service(Service.Level.PROJECT)
 final class ProjectClassMetadataService implements Disposable {
   private static final Logger LOG = Logger.getInstance(ProjectClassMetadataService.class);
+  private static final Key<CachedValue<Map<String, List<ClassMetadata>>>> CLASS_METADATA_CACHE_KEY =
+      Key.create("spring-boot-assistant.metadata.class-metadata");
 
   private final Project project;
 
@@ -51,57 +62,67 @@ final class ProjectClassMetadataService implements Disposable {
 
   @NotNull
   public Optional<MetadataIndex> getMetadata(@NotNull String baseName, @NotNull PsiType type) {
-    if (PsiTypeUtils.isValueType(type)) {
-      return Optional.empty();
-    }
-    return Optional.of(generateMetadataInSmartMode(new AggregatedMetadataIndex(), PropertyName.of(baseName), type))
-        .filter(not(MetadataIndex::isEmpty));
+    return DumbService.getInstance(project).runReadActionInSmartMode(() -> {
+      AggregatedMetadataIndex index = new AggregatedMetadataIndex();
+      for (ClassMetadata classMetadata : getClassMetadata(type)) {
+        index.addLast(new ConfigurationMetadataIndex(
+            classMetadata.withBaseName(baseName), classMetadata.sourceClass(), project));
+      }
+      return Optional.<MetadataIndex>of(index).filter(not(MetadataIndex::isEmpty));
+    });
   }
 
 
-  @NotNull
-  private MetadataIndex generateMetadataInSmartMode(
-      AggregatedMetadataIndex index, PropertyName basename, PsiType type
-  ) {
-    return DumbService.getInstance(project).runReadActionInSmartMode(() -> generateMetadata(index, basename, type));
+  private List<ClassMetadata> getClassMetadata(PsiType type) {
+    Map<String, List<ClassMetadata>> cache = CachedValuesManager.getManager(project).getCachedValue(project,
+        CLASS_METADATA_CACHE_KEY, () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+            PsiTypeUtils.getJavaStructureModificationTracker(project)), false);
+    String text = getCanonicalTextOfType(type);
+    List<ClassMetadata> metadata = cache.get(text);
+    if (metadata == null) {
+      // Not computeIfAbsent, the generation walks through PSI of nested types, which is too long to hold a bin lock.
+      List<ClassMetadata> result = new ArrayList<>();
+      generateMetadata(result, PropertyName.EMPTY, type);
+      metadata = List.copyOf(result);
+      List<ClassMetadata> existing = cache.putIfAbsent(text, metadata);
+      if (existing != null) metadata = existing;
+    }
+    return metadata;
   }
 
 
-  @NotNull
-  private MetadataIndex generateMetadata(AggregatedMetadataIndex index, PropertyName basename, PsiType type) {
+  private void generateMetadata(List<ClassMetadata> result, PropertyName basename, PsiType type) {
     LOG.debug("Generating metadata for: " + basename + " -> " + type.getPresentableText());
     if (PsiTypeUtils.isValueType(type)) {
       // Exit condition: value type do not need to index.
-      return index;
+      return;
     }
     if (PsiTypeUtils.isMap(project, type)) {
       try {
         PsiType[] kvType = PsiTypeUtils.getKeyValueType(project, type);
         if (!(kvType != null && kvType.length == 2)) {
           LOG.warn("Unsupported map type: " + type);
-          return index;
+          return;
         }
         if (!PsiTypeUtils.isValueType(kvType[0])) {
           LOG.warn(basename + " has unsupported Map key type: " + type);
-          return index;
+          return;
         }
-        generateMetadata(index, basename.appendAnyMapKey(), kvType[1]);
+        generateMetadata(result, basename.appendAnyMapKey(), kvType[1]);
       } catch (Exception e) {
         LOG.warn(basename + " has illegal Map type: " + type);
-        return index;
       }
     } else if (PsiTypeUtils.isCollection(project, type)) {
       try {
         PsiType elementType = PsiTypeUtils.getElementType(project, type);
         assert elementType != null;
-        generateMetadata(index, basename.appendAnyNumericalIndex(), elementType);
+        generateMetadata(result, basename.appendAnyNumericalIndex(), elementType);
       } catch (Exception e) {
         LOG.warn(basename + " has illegal Collection type: " + type);
-        return index;
       }
     } else {
       PsiClass valueClass = PsiTypeUtils.resolveClassInType(type);
-      if (valueClass == null) return index;
+      if (valueClass == null) return;
       ConfigurationMetadata metadata = new ConfigurationMetadata();
       String[] writableProperties = PropertyUtil.getWritableProperties(valueClass, true);
       for (String fieldName : writableProperties) {
@@ -126,16 +147,35 @@ final class ProjectClassMetadataService implements Disposable {
           metadata.getProperties().add(meta);
         } else {
           // Nested class, recursive in.
-          generateMetadata(index, name, propertyType);
+          generateMetadata(result, name, propertyType);
         }
       }
-      index.addLast(new ConfigurationMetadataIndex(metadata, valueClass, project));
+      result.add(new ClassMetadata(metadata, valueClass));
     }
-    return index;
   }
 
 
   @Override
   public void dispose() {
   }
+
+
+  /**
+   * Metadata generated from a class, property names are relative to the property of the type.
+   */
+  private record ClassMetadata(ConfigurationMetadata metadata, PsiClass sourceClass) {
+    private ConfigurationMetadata withBaseName(String baseName) {
+      ConfigurationMetadata result = new ConfigurationMetadata();
+      for (ConfigurationMetadata.Property property : metadata.getProperties()) {
+        ConfigurationMetadata.Property copy = new ConfigurationMetadata.Property();
+        String name = property.getName();
+        copy.setName(name.startsWith("[") ? baseName + name : baseName + "." + name);
+        copy.setType(property.getType());
+        copy.setSourceType(property.getSourceType());
+        copy.setDefaultValue(property.getDefaultValue());
+        result.getProperties().add(copy);
+      }
+      return result;
+    }
+  }
 }
@@ -0,0 +1,178 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.misc;
+
+import com.intellij.lang.LighterAST;
+import com.intellij.lang.LighterASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.impl.source.JavaLightTreeUtil;
+import com.intellij.psi.impl.source.tree.ElementType;
+import com.intellij.psi.impl.source.tree.JavaElementType;
+import com.intellij.psi.impl.source.tree.LightTreeUtil;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.PsiDependentFileContent;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Helpers for reading declarations from the light tree of a java file while indexing.
+ * <p>
+ * The light tree is shared by the java indexes of the platform, reading it does not build PSI of the file.
+ * References cannot be resolved while indexing, so names are returned as they are written in the source.
+ */
+@UtilityClass
+public class LightJavaTreeUtils {
+
+  /**
+   * @return Light tree of the java file, or null if the content is not a java file.
+   */
+  public static @Nullable LighterAST getLighterAST(@NotNull FileContent content) {
+    return content instanceof PsiDependentFileContent psiContent ? psiContent.getLighterAST() : null;
+  }
+
+
+  public static @NotNull String getPackageName(@NotNull LighterAST tree) {
+    LighterASTNode statement = LightTreeUtil.firstChildOfType(tree, tree.getRoot(), JavaElementType.PACKAGE_STATEMENT);
+    if (statement == null) return "";
+    LighterASTNode reference = LightTreeUtil.firstChildOfType(tree, statement, JavaElementType.JAVA_CODE_REFERENCE);
+    return reference != null ? getText(tree, reference) : "";
+  }
+
+
+  /**
+   * @return Names of single-type imports, and of on-demand imports end with '.*'.
+   */
+  public static @NotNull List<String> getImports(@NotNull LighterAST tree) {
+    List<String> imports = new ArrayList<>();
+    LighterASTNode importList = LightTreeUtil.firstChildOfType(tree, tree.getRoot(), JavaElementType.IMPORT_LIST);
+    if (importList == null) return imports;
+    for (LighterASTNode statement : LightTreeUtil.getChildrenOfType(tree, importList,
+        JavaElementType.IMPORT_STATEMENT)) {
+      LighterASTNode reference = LightTreeUtil.firstChildOfType(tree, statement, JavaElementType.JAVA_CODE_REFERENCE);
+      if (reference == null) continue;
+      boolean onDemand = LightTreeUtil.firstChildOfType(tree, statement, JavaTokenType.ASTERISK) != null;
+      imports.add(getText(tree, reference) + (onDemand ? ".*" : ""));
+    }
+    return imports;
+  }
+
+
+  /**
+   * Visit classes in the file, including nested ones but not anonymous or local ones.
+   *
+   * @param consumer Accepts the class and its name relative to the package, e.g. 'Outer.Inner'.
+   */
+  public static void processClasses(@NotNull LighterAST tree, @NotNull BiConsumer<LighterASTNode, String> consumer) {
+    processClasses(tree, tree.getRoot(), "", consumer);
+  }
+
+
+  private static void processClasses(
+      LighterAST tree, LighterASTNode parent, String outerNames, BiConsumer<LighterASTNode, String> consumer
+  ) {
+    for (LighterASTNode psiClass : LightTreeUtil.getChildrenOfType(tree, parent, JavaElementType.CLASS)) {
+      String name = JavaLightTreeUtil.getNameIdentifierText(tree, psiClass);
+      if (name == null) continue;
+      consumer.accept(psiClass, outerNames + name);
+      processClasses(tree, psiClass, outerNames + name + ".", consumer);
+    }
+  }
+
+
+  /**
+   * @return true if the class is declared by '@interface'.
+   */
+  public static boolean isAnnotationType(@NotNull LighterAST tree, @NotNull LighterASTNode psiClass) {
+    return LightTreeUtil.firstChildOfType(tree, psiClass, JavaTokenType.AT) != null;
+  }
+
+
+  public static @NotNull List<LighterASTNode> getMethods(@NotNull LighterAST tree, @NotNull LighterASTNode psiClass) {
+    return LightTreeUtil.getChildrenOfType(tree, psiClass, JavaElementType.METHOD);
+  }
+
+
+  public static @Nullable String getName(@NotNull LighterAST tree, @NotNull LighterASTNode declaration) {
+    return JavaLightTreeUtil.getNameIdentifierText(tree, declaration);
+  }
+
+
+  /**
+   * @return Name of the class in the return type of the method without type arguments, as it is written,
+   * or null if the method returns a primitive type or nothing.
+   */
+  public static @Nullable String getReturnTypeName(@NotNull LighterAST tree, @NotNull LighterASTNode method) {
+    LighterASTNode type = LightTreeUtil.firstChildOfType(tree, method, JavaElementType.TYPE);
+    if (type == null) return null;
+    LighterASTNode reference = LightTreeUtil.firstChildOfType(tree, type, JavaElementType.JAVA_CODE_REFERENCE);
+    return reference != null ? StringUtils.substringBefore(getText(tree, reference), "<") : null;
+  }
+
+
+  /**
+   * @param owner A class or a method.
+   */
+  public static @NotNull List<LighterASTNode> getAnnotations(@NotNull LighterAST tree, @NotNull LighterASTNode owner) {
+    LighterASTNode modifierList = LightTreeUtil.firstChildOfType(tree, owner, JavaElementType.MODIFIER_LIST);
+    if (modifierList == null) return List.of();
+    return LightTreeUtil.getChildrenOfType(tree, modifierList, JavaElementType.ANNOTATION);
+  }
+
+
+  /**
+   * @return Name of the annotation as it is written, e.g. 'Component' or 'org.springframework.stereotype.Component'.
+   */
+  public static @Nullable String getAnnotationName(@NotNull LighterAST tree, @NotNull LighterASTNode annotation) {
+    LighterASTNode reference = LightTreeUtil.firstChildOfType(tree, annotation, JavaElementType.JAVA_CODE_REFERENCE);
+    return reference != null ? getText(tree, reference) : null;
+  }
+
+
+  /**
+   * @return String literals of the attribute of the annotation, either a single one or in an array initializer.
+   */
+  public static @NotNull List<String> getStringValues(
+      @NotNull LighterAST tree, @NotNull LighterASTNode annotation, @NotNull String attribute
+  ) {
+    List<String> result = new ArrayList<>();
+    LighterASTNode parameters =
+        LightTreeUtil.firstChildOfType(tree, annotation, JavaElementType.ANNOTATION_PARAMETER_LIST);
+    if (parameters == null) return result;
+    for (LighterASTNode pair : LightTreeUtil.getChildrenOfType(tree, parameters, JavaElementType.NAME_VALUE_PAIR)) {
+      LighterASTNode identifier = LightTreeUtil.firstChildOfType(tree, pair, JavaTokenType.IDENTIFIER);
+      String name = identifier != null ? getText(tree, identifier) : "value";
+      if (!attribute.equals(name)) continue;
+      LighterASTNode value = LightTreeUtil.firstChildOfType(tree, pair, JavaElementType.LITERAL_EXPRESSION);
+      if (value != null) {
+        addStringValue(tree, value, result);
+      } else {
+        LighterASTNode array =
+            LightTreeUtil.firstChildOfType(tree, pair, JavaElementType.ANNOTATION_ARRAY_INITIALIZER);
+        if (array == null) continue;
+        for (LighterASTNode element : LightTreeUtil.getChildrenOfType(tree, array,
+            JavaElementType.LITERAL_EXPRESSION)) {
+          addStringValue(tree, element, result);
+        }
+      }
+    }
+    return result;
+  }
+
+
+  private static void addStringValue(LighterAST tree, LighterASTNode literal, List<String> result) {
+    LighterASTNode token = LightTreeUtil.firstChildOfType(tree, literal, JavaTokenType.STRING_LITERAL);
+    if (token == null) return;
+    String value = StringUtil.unescapeStringCharacters(StringUtil.unquoteString(getText(tree, token)));
+    if (StringUtils.isNotBlank(value)) result.add(value);
+  }
+
+
+  private static String getText(LighterAST tree, LighterASTNode node) {
+    return LightTreeUtil.toFilteredString(tree, node, ElementType.JAVA_COMMENT_OR_WHITESPACE_BIT_SET);
+  }
+}
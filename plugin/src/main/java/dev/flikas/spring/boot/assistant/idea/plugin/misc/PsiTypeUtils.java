@@ -1,8 +1,11 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.misc;
 
-import com.intellij.openapi.application.ReadAction;
+import com.intellij.lang.java.JavaLanguage;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.psi.CommonClassNames;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiArrayType;
@@ -14,8 +17,13 @@ import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifier;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiWildcardType;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.ProjectScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTypesUtil;
 import com.intellij.psi.util.PsiUtil;
 import com.intellij.psi.util.TypeConversionUtil;
@@ -24,12 +32,22 @@ import lombok.experimental.UtilityClass;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+/**
+ * Helpers for analysing java types of properties.
+ * <p>
+ * Methods that read PSI do not acquire read actions by themselves, callers should hold a read action for the
+ * whole operation, for example, a whole metadata generation or inspection pass.
+ */
 @UtilityClass
 public class PsiTypeUtils {
   private static final Logger log = Logger.getInstance(PsiTypeUtils.class);
+  private static final Key<CachedValue<Map<TypeKey, TypeInfo>>> TYPE_INFO_CACHE_KEY =
+      Key.create("spring-boot-assistant.psi-type-info");
 
 
   public static PsiClassType getJavaLangString(Project project) {
@@ -47,29 +65,36 @@ public class PsiTypeUtils {
     PsiJavaParserFacade parser = JavaPsiFacade.getInstance(project).getParserFacade();
     // When reference an inner class, we should use A.B not A$B but spring does.
     String typeString = type.replace('$', '.');
-    return ReadAction.compute(() -> {
-      PsiType t = parser.createTypeFromText(typeString, null);
-      return PsiTypeUtils.isPhysical(t) ? t : null;
-    });
+    PsiType t = parser.createTypeFromText(typeString, null);
+    return PsiTypeUtils.isPhysical(t) ? t : null;
+  }
+
+
+  /**
+   * @return A tracker that changes when any java structure in project or the project's libraries are changed.
+   */
+  public static ModificationTracker getJavaStructureModificationTracker(Project project) {
+    ModificationTracker javaTracker = PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE);
+    ModificationTracker rootTracker = ProjectRootModificationTracker.getInstance(project);
+    return () -> javaTracker.getModificationCount() + rootTracker.getModificationCount();
   }
 
 
   @Nullable
   public static PsiClass findClass(Project project, String classFQN) {
     JavaPsiFacade jpf = JavaPsiFacade.getInstance(project);
-    return ReadAction.compute(() ->
-        jpf.findClass(classFQN.trim().replace('$', '.'), GlobalSearchScope.allScope(project)));
+    return jpf.findClass(classFQN.trim().replace('$', '.'), GlobalSearchScope.allScope(project));
   }
 
 
   @Nullable
   public static PsiClass resolveClassInType(@Nullable PsiType type) {
-    return ReadAction.compute(() -> PsiUtil.resolveClassInType(type));
+    return PsiUtil.resolveClassInType(type);
   }
 
 
   public static String getCanonicalTextOfType(PsiType type) {
-    return ReadAction.compute(type::getCanonicalText);
+    return type.getCanonicalText();
   }
 
 
@@ -78,8 +103,16 @@ public class PsiTypeUtils {
    */
   public static boolean isValueType(@Nullable PsiType type) {
     if (type == null) return false;
+    PsiClass psiClass = PsiTypesUtil.getPsiClass(type);
+    // Types that are not a class, e.g. primitive types, are not physical.
+    if (psiClass == null) return false;
+    return getTypeInfo(psiClass.getProject(), type).valueType();
+  }
+
+
+  private static boolean computeIsValueType(PsiType type) {
     // From Spring 'org.springframework.boot.convert.ApplicationConversionService'
-    return ReadAction.compute(() -> isPhysical(type)
+    return isPhysical(type)
         && (TypeConversionUtil.isAssignableFromPrimitiveWrapper(type)
                 || TypeConversionUtil.isPrimitiveAndNotNullOrWrapper(type)
                 || TypeConversionUtil.isEnumType(type)
@@ -105,25 +138,14 @@ public class PsiTypeUtils {
                 || isClassNameEquals(type, "java.net.InetAddress")
                 || isClassNameEquals(type, "org.springframework.core.io.Resource")
                 || isClassNameEquals(type, "org.springframework.http.MediaType")
-                || canConvertFromString(type)));
+                || canConvertFromString(type));
   }
 
 
   public static boolean isPhysical(PsiType type) {
-    return ReadAction.compute(() -> {
-      PsiClass psiClass = PsiTypesUtil.getPsiClass(type);
-      if (psiClass == null) return false;
-      return type.isValid() && psiClass.isPhysical();
-    });
-  }
-
-
-  public static boolean isConcrete(@Nullable PsiType type) {
-    if (type == null || !isPhysical(type)) return false;
-    PsiClass psiClass = resolveClassInType(type);
+    PsiClass psiClass = PsiTypesUtil.getPsiClass(type);
     if (psiClass == null) return false;
-    return !psiClass.isInterface() &&
-        (psiClass.getModifierList() == null || !psiClass.getModifierList().hasModifierProperty(PsiModifier.ABSTRACT));
+    return type.isValid() && psiClass.isPhysical();
   }
 
 
@@ -134,21 +156,32 @@ public class PsiTypeUtils {
 
   public static boolean isCollection(Project project, @Nullable PsiType type) {
     if (type == null) return false;
+    if (type instanceof PsiArrayType) return true;
+    return getTypeInfo(project, type).collection();
+  }
+
+
+  private static boolean computeIsCollection(Project project, PsiType type) {
     if (type instanceof PsiArrayType) return true;
     PsiClassType collectionType = getJavaTypeByName(project, CommonClassNames.JAVA_UTIL_COLLECTION);
-    return ReadAction.compute(() -> collectionType.isAssignableFrom(type));
+    return collectionType.isAssignableFrom(type);
   }
 
 
   public static boolean isMap(Project project, @Nullable PsiType type) {
     if (type == null) return false;
+    return getTypeInfo(project, type).map();
+  }
+
+
+  private static boolean computeIsMap(Project project, PsiType type) {
     PsiClassType mapType = getJavaTypeByName(project, CommonClassNames.JAVA_UTIL_MAP);
-    return ReadAction.compute(() -> mapType.isAssignableFrom(type));
+    return mapType.isAssignableFrom(type);
   }
 
 
   public static boolean isClassNameEquals(PsiType type, String className) {
-    return ReadAction.compute(() -> PsiTypesUtil.classNameEquals(type, className));
+    return PsiTypesUtil.classNameEquals(type, className);
   }
 
 
@@ -157,7 +190,17 @@ public class PsiTypeUtils {
    */
   @Nullable
   public static PsiType getElementType(Project project, PsiType collectionOrArrayType) {
-    if (collectionOrArrayType instanceof PsiClassType type && isCollection(project, type)) {
+    if (collectionOrArrayType == null || !isCollection(project, collectionOrArrayType)) {
+      throw new IllegalArgumentException("Unsupported type: " + collectionOrArrayType);
+    }
+    return computeElementType(collectionOrArrayType);
+  }
+
+
+  @Nullable
+  private static PsiType computeElementType(PsiType collectionOrArrayType) {
+    // Callers have checked the type is a collection or an array.
+    if (collectionOrArrayType instanceof PsiClassType type) {
       if (isClassNameEquals(type, CommonClassNames.JAVA_UTIL_LIST)
           || isClassNameEquals(type, CommonClassNames.JAVA_UTIL_ARRAY_LIST)
           || isClassNameEquals(type, CommonClassNames.JAVA_UTIL_LINKED_LIST)
@@ -165,9 +208,9 @@ public class PsiTypeUtils {
           || isClassNameEquals(type, CommonClassNames.JAVA_UTIL_HASH_SET)
           || isClassNameEquals(type, CommonClassNames.JAVA_UTIL_LINKED_HASH_SET)
           || isClassNameEquals(type, CommonClassNames.JAVA_UTIL_SORTED_SET)) {
-        return ReadAction.compute(type::getParameters)[0];
+        return type.getParameters()[0];
       } else {
-        PsiType[] parameters = ReadAction.compute(type::getParameters);
+        PsiType[] parameters = type.getParameters();
         if (parameters.length == 1) {
           log.warn("Try to retrieve element type from sub-classes of Collection \""
               + type + "\", this may be a wrong result");
@@ -179,7 +222,7 @@ public class PsiTypeUtils {
         }
       }
     } else if (collectionOrArrayType instanceof PsiArrayType arrayType) {
-      return ReadAction.compute(arrayType::getComponentType);
+      return arrayType.getComponentType();
     } else {
       throw new IllegalArgumentException("Unsupported type: " + collectionOrArrayType);
     }
@@ -193,19 +236,29 @@ public class PsiTypeUtils {
   @Size(min = 2, max = 2)
   public static PsiType[] getKeyValueType(Project project, @Nullable PsiType mapType) {
     if (mapType == null) return null;
+    if (!isMap(project, mapType)) {
+      throw new IllegalArgumentException("Unsupported type: " + mapType);
+    }
+    return computeKeyValueType(project, mapType);
+  }
+
+
+  @Nullable
+  private static PsiType[] computeKeyValueType(Project project, PsiType mapType) {
+    // Callers have checked the type is a map.
     if (isClassNameEquals(mapType, CommonClassNames.JAVA_UTIL_MAP)
         || isClassNameEquals(mapType, CommonClassNames.JAVA_UTIL_HASH_MAP)
         || isClassNameEquals(mapType, CommonClassNames.JAVA_UTIL_CONCURRENT_HASH_MAP)
         || isClassNameEquals(mapType, CommonClassNames.JAVA_UTIL_LINKED_HASH_MAP)) {
-      return mapType instanceof PsiClassType classType ? ReadAction.compute(classType::getParameters) : null;
+      return mapType instanceof PsiClassType classType ? classType.getParameters() : null;
     } else if (isClassNameEquals(mapType, CommonClassNames.JAVA_UTIL_PROPERTIES)) {
       // java.util.Properties implements Map<Object,Object>, we should manually force it to string.
       PsiType stringType = getJavaLangString(project);
       return new PsiType[]{stringType, stringType};
-    } else if (isMap(project, mapType)) {
+    } else {
       //TODO Support sub-classes of Map, with generics.
       if (mapType instanceof PsiClassType classType) {
-        PsiType[] parameters = ReadAction.compute(classType::getParameters);
+        PsiType[] parameters = classType.getParameters();
         if (parameters.length == 2) {
           log.warn("Try to retrieve key & value types from sub-classes of Map \""
               + mapType + "\", this may be a wrong result");
@@ -214,8 +267,6 @@ public class PsiTypeUtils {
       }
       log.warn("(Unsupported)Cannot retrieve key & value types from sub-class of Map: " + mapType);
       return null;
-    } else {
-      throw new IllegalArgumentException("Unsupported type: " + mapType);
     }
   }
 
@@ -224,10 +275,44 @@ public class PsiTypeUtils {
    * @return true if {@code type} is Map and the key and value type is both {@linkplain #isValueType(PsiType) value type}
    */
   public static boolean isValueMap(Project project, @Nullable PsiType type) {
-    if (!isMap(project, type)) return false;
-    PsiType[] typeArgs = getKeyValueType(project, type);
-    if (typeArgs == null || typeArgs.length != 2) return false;
-    return isValueType(typeArgs[0]) && isValueType(typeArgs[1]);
+    if (type == null) return false;
+    return getTypeInfo(project, type).valueMap();
+  }
+
+
+  /**
+   * Classification of the type, computed once and cached by its resolve scope and canonical text, until any java
+   * structure is changed. Types that are not fully resolved are classified every time, for they may resolve later.
+   */
+  private static TypeInfo getTypeInfo(Project project, PsiType type) {
+    if (!isResolved(type)) {
+      return TypeInfo.of(project, type);
+    }
+    Map<TypeKey, TypeInfo> cache = CachedValuesManager.getManager(project).getCachedValue(project,
+        TYPE_INFO_CACHE_KEY, () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+            getJavaStructureModificationTracker(project)), false);
+    TypeKey key = new TypeKey(type.getResolveScope(), type.getCanonicalText());
+    TypeInfo info = cache.get(key);
+    if (info == null) {
+      // Not computeIfAbsent, classifying a map type classifies its key and value types recursively.
+      info = TypeInfo.of(project, type);
+      cache.putIfAbsent(key, info);
+    }
+    return info;
+  }
+
+
+  private static boolean isResolved(PsiType type) {
+    if (type instanceof PsiArrayType arrayType) {
+      return isResolved(arrayType.getComponentType());
+    } else if (type instanceof PsiClassType classType) {
+      if (classType.resolve() == null) return false;
+      for (PsiType parameter : classType.getParameters()) {
+        PsiType bound = parameter instanceof PsiWildcardType wildcard ? wildcard.getBound() : parameter;
+        if (bound != null && !isResolved(bound)) return false;
+      }
+    }
+    return true;
   }
 
 
@@ -249,4 +334,25 @@ public class PsiTypeUtils {
     }
     return false;
   }
+
+
+  /**
+   * @param scope Resolve scope of the type, the same text may be different types in different modules.
+   */
+  private record TypeKey(@Nullable GlobalSearchScope scope, String text) {}
+
+
+  /**
+   * Only classifications are cached, element, key and value types are taken from the caller's type instance.
+   */
+  private record TypeInfo(boolean valueType, boolean collection, boolean map, boolean valueMap) {
+    private static TypeInfo of(Project project, PsiType type) {
+      boolean collection = computeIsCollection(project, type);
+      boolean map = computeIsMap(project, type);
+      PsiType[] keyValueType = map ? computeKeyValueType(project, type) : null;
+      boolean valueMap = keyValueType != null && keyValueType.length == 2
+          && isValueType(keyValueType[0]) && isValueType(keyValueType[1]);
+      return new TypeInfo(computeIsValueType(type), collection, map, valueMap);
+    }
+  }
 }
@@ -0,0 +1,143 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.misc;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.jetbrains.yaml.psi.YAMLPsiElement;
+import org.jetbrains.yaml.psi.YAMLSequence;
+import org.jetbrains.yaml.psi.YAMLSequenceItem;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Full names of keys in a yaml file, same as {@link YAMLUtil#getConfigFullName(YAMLPsiElement)}.
+ * <p>
+ * Names of all keys in a file are built in one top-down traversal, each from the name of its parent,
+ * and cached until the file is changed.
+ */
+@UtilityClass
+public class YamlKeyPaths {
+  private static final Key<CachedValue<Map<YAMLPsiElement, KeyPath>>> CACHE_KEY =
+      Key.create("spring-boot-assistant.yaml-key-paths");
+
+
+  /**
+   * @see YAMLUtil#getConfigFullName(YAMLPsiElement)
+   */
+  public static @NotNull String getFullName(@NotNull YAMLKeyValue keyValue) {
+    KeyPath path = getKeyPath(keyValue);
+    return path != null ? path.fullName() : YAMLUtil.getConfigFullName(keyValue);
+  }
+
+
+  /**
+   * @return Property name adapted from the full name of the key.
+   */
+  public static @NotNull PropertyName getPropertyName(@NotNull YAMLKeyValue keyValue) {
+    KeyPath path = getKeyPath(keyValue);
+    return path != null ? path.getPropertyName() : PropertyName.adapt(YAMLUtil.getConfigFullName(keyValue));
+  }
+
+
+  /**
+   * Build full names of all keys in the file without caching them on the file,
+   * for transient PSI that should not keep user data, e.g. the PSI given to indexers.
+   */
+  public static @NotNull Map<YAMLKeyValue, String> buildFullNames(@NotNull PsiFile file) {
+    Map<YAMLKeyValue, String> names = new HashMap<>();
+    buildKeyPaths(file).forEach((element, path) -> {
+      if (element instanceof YAMLKeyValue keyValue) names.put(keyValue, path.fullName());
+    });
+    return names;
+  }
+
+
+  private static @Nullable KeyPath getKeyPath(YAMLKeyValue keyValue) {
+    PsiFile file = keyValue.getContainingFile();
+    if (file == null) return null;
+    Map<YAMLPsiElement, KeyPath> paths = CachedValuesManager.getManager(file.getProject()).getCachedValue(file,
+        CACHE_KEY, () -> CachedValueProvider.Result.create(buildKeyPaths(file), file), false);
+    return paths.get(keyValue);
+  }
+
+
+  private static Map<YAMLPsiElement, KeyPath> buildKeyPaths(PsiFile file) {
+    Map<YAMLPsiElement, KeyPath> paths = new HashMap<>();
+    Deque<KeyPath> parents = new ArrayDeque<>();
+    // Index of the next item, for each sequence we are in.
+    Deque<int[]> sequenceIndexes = new ArrayDeque<>();
+    file.accept(new PsiRecursiveElementWalkingVisitor() {
+      @Override
+      public void visitElement(@NotNull PsiElement element) {
+        KeyPath parent = parents.peek();
+        if (element instanceof YAMLKeyValue keyValue) {
+          String keyText = keyValue.getKeyText();
+          KeyPath path = new KeyPath(parent == null ? keyText : parent.fullName() + '.' + keyText);
+          paths.put(keyValue, path);
+          parents.push(path);
+        } else if (element instanceof YAMLSequenceItem item && !sequenceIndexes.isEmpty()) {
+          String index = "[" + sequenceIndexes.peek()[0]++ + "]";
+          KeyPath path = new KeyPath(parent == null ? index : parent.fullName() + index);
+          paths.put(item, path);
+          parents.push(path);
+        } else if (element instanceof YAMLSequence) {
+          sequenceIndexes.push(new int[1]);
+        }
+        super.visitElement(element);
+      }
+
+
+      @Override
+      protected void elementFinished(PsiElement element) {
+        if (element instanceof YAMLKeyValue || element instanceof YAMLSequenceItem && paths.containsKey(element)) {
+          parents.pop();
+        } else if (element instanceof YAMLSequence) {
+          sequenceIndexes.pop();
+        }
+      }
+    });
+    return paths;
+  }
+
+
+  /**
+   * Path of a key or a sequence item, the property name is adapted on demand.
+   */
+  private static final class KeyPath {
+    private final String fullName;
+    private volatile PropertyName propertyName;
+
+
+    private KeyPath(String fullName) {
+      this.fullName = fullName;
+    }
+
+
+    private String fullName() {
+      return fullName;
+    }
+
+
+    private PropertyName getPropertyName() {
+      PropertyName name = this.propertyName;
+      if (name == null) {
+        name = PropertyName.adapt(fullName);
+        this.propertyName = name;
+      }
+      return name;
+    }
+  }
+}
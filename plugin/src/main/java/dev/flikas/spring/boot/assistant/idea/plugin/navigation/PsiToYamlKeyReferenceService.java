@@ -1,54 +1,106 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.navigation;
 
-import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
 import com.intellij.openapi.module.Module;
-import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.DumbModeBlockedFunctionality;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.UserDataHolderBase;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.util.CachedValueProvider;
-import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.PathUtil;
+import com.intellij.util.indexing.FileBasedIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.filetype.SpringBootConfigurationYamlFileType;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataGroup;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import it.unimi.dsi.fastutil.ints.IntList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.yaml.YAMLUtil;
-import org.jetbrains.yaml.psi.YAMLDocument;
-import org.jetbrains.yaml.psi.YAMLFile;
+import org.jetbrains.yaml.YAMLLanguage;
 import org.jetbrains.yaml.psi.YAMLKeyValue;
-import org.jetbrains.yaml.psi.YAMLMapping;
-import org.jetbrains.yaml.psi.YAMLSequence;
-import org.jetbrains.yaml.psi.YAMLValue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.ADDITIONAL_METADATA_FILE_NAME;
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.METADATA_FILE_NAME;
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.ConfigurationPropertyName.Form.UNIFORM;
+
+/**
+ * Find yaml keys that are bound to a field or class, for "Find Usages" from java to yaml.
+ * <p>
+ * Keys in configuration files are indexed by {@link YamlKeyOffsetIndex}, on query, the indexed key names are
+ * resolved to properties and groups in the metadata of the file's module, and matched with the field or class.
+ */
 @Service(Service.Level.PROJECT)
-public final class PsiToYamlKeyReferenceService {
+public final class PsiToYamlKeyReferenceService implements Disposable {
   private final Project project;
-  private IndexHolder indexHolder;
+  /**
+   * Counts VFS changes of spring configuration files and metadata files, PSI changes are counted by the platform.
+   */
+  private final SimpleModificationTracker configFilesTracker = new SimpleModificationTracker();
+  private final ModificationTracker tracker;
+  /**
+   * Canonical name of a field or class -> references found in configuration files.
+   */
+  private final Map<String, Collection<YamlKeyToNullReference>> cache = new ConcurrentHashMap<>();
+  private volatile long cacheStamp = -1;
 
 
   public PsiToYamlKeyReferenceService(Project project) {
     this.project = project;
+    ModificationTracker yamlTracker = PsiModificationTracker.getInstance(project).forLanguage(YAMLLanguage.INSTANCE);
+    ModificationTracker javaTracker = PsiTypeUtils.getJavaStructureModificationTracker(project);
+    this.tracker = () -> configFilesTracker.getModificationCount() + yamlTracker.getModificationCount()
+        + javaTracker.getModificationCount();
+    project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+        FileTypeRegistry fileTypeRegistry = FileTypeRegistry.getInstance();
+        for (VFileEvent event : events) {
+          String fileName = PathUtil.getFileName(event.getPath());
+          if (fileTypeRegistry.getFileTypeByFileName(fileName) == SpringBootConfigurationYamlFileType.INSTANCE
+              || fileName.equals(METADATA_FILE_NAME) || fileName.equals(ADDITIONAL_METADATA_FILE_NAME)
+              || event instanceof VFilePropertyChangeEvent) {
+            // A renamed or moved file may become or no longer be a configuration file.
+            configFilesTracker.incModificationCount();
+            return;
+          }
+        }
+      }
+    });
   }
 
 
@@ -57,129 +109,170 @@ public final class PsiToYamlKeyReferenceService {
     if (!(psiElement instanceof PsiField || psiElement instanceof PsiClass)) {
       return Collections.emptySet();
     }
-    Map<String, Set<YamlKeyToNullReference>> index = refreshIndex();
-    if (index == null) {
-      DumbService.getInstance(project)
-          .showDumbModeNotificationForFunctionality("Index is not ready", DumbModeBlockedFunctionality.FindUsages);
+    DumbService dumbService = DumbService.getInstance(project);
+    if (dumbService.isDumb()) {
+      dumbService.showDumbModeNotificationForFunctionality("Index is not ready", DumbModeBlockedFunctionality.FindUsages);
       return Collections.emptySet();
     }
-    return index.getOrDefault(getCanonicalName(psiElement), Collections.emptySet());
+    String canonicalName = getCanonicalName(psiElement);
+    if (canonicalName == null) return Collections.emptySet();
+    long stamp = tracker.getModificationCount();
+    if (stamp != cacheStamp) {
+      cache.clear();
+      cacheStamp = stamp;
+    }
+    Collection<YamlKeyToNullReference> cached = cache.get(canonicalName);
+    if (cached != null) return cached;
+    Collection<YamlKeyToNullReference> references = searchReferences(psiElement, canonicalName);
+    // Do not cache the result if anything changed during the search.
+    if (stamp == tracker.getModificationCount()) cache.put(canonicalName, references);
+    return references;
   }
 
 
-  private Map<String, Set<YamlKeyToNullReference>> refreshIndex() {
-    Collection<VirtualFile> files = DumbService.getInstance(project).runReadActionInSmartMode(
-        () -> FileTypeIndex.getFiles(SpringBootConfigurationYamlFileType.INSTANCE,
-            GlobalSearchScope.projectScope(project)));
+  @Override
+  public void dispose() {
+    cache.clear();
+  }
+
+
+  private Collection<YamlKeyToNullReference> searchReferences(PsiElement psiElement, String canonicalName) {
+    Predicate<String> keyFilter;
+    if (psiElement instanceof PsiField field) {
+      // The last element of a property's name is the name of its source field, that filters out most keys.
+      String fieldName = toUniform(field.getName());
+      keyFilter = key -> fieldName.equals(getLastElement(key));
+    } else {
+      // Only keys of groups whose type is the class can be bound to it.
+      Set<PropertyName> groupNames = findGroupNames(canonicalName);
+      if (groupNames.isEmpty()) return List.of();
+      keyFilter = key -> groupNames.contains(PropertyName.adapt(key));
+    }
+
+    FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+    List<String> keys = new ArrayList<>();
+    fileBasedIndex.processAllKeys(YamlKeyOffsetIndex.NAME, key -> {
+      if (keyFilter.test(key)) keys.add(key);
+      return true;
+    }, scope, null);
 
-    if (this.indexHolder == null || !this.indexHolder.isEquals(files)) {
-      synchronized (this) {
-        if (this.indexHolder == null || !this.indexHolder.isEquals(files)) {
-          this.indexHolder = new IndexHolder(files);
+    PsiManager psiManager = PsiManager.getInstance(project);
+    // Files of a key are mostly the files of other keys too, resolve the metadata of each file once.
+    Map<VirtualFile, MetadataIndex> fileIndexes = new HashMap<>();
+    // Each offset is indexed under one key only, so there are no duplicates to remove.
+    List<YamlKeyToNullReference> references = new ArrayList<>();
+    for (String key : keys) {
+      ProgressManager.checkCanceled();
+      PropertyName name = PropertyName.adapt(key);
+      fileBasedIndex.processValues(YamlKeyOffsetIndex.NAME, key, null, (file, offsets) -> {
+        MetadataIndex index = fileIndexes.computeIfAbsent(file, this::getMetadataIndex);
+        if (isBoundTo(index, name, psiElement, canonicalName)) {
+          PsiFile psiFile = psiManager.findFile(file);
+          if (psiFile != null) collectReferences(references, psiFile, offsets);
         }
-      }
+        return true;
+      }, scope);
     }
-    return this.indexHolder.getIndex();
+    YamlKeyToNullReference[] sorted = references.toArray(YamlKeyToNullReference[]::new);
+    Arrays.sort(sorted);
+    return List.of(sorted);
   }
 
 
-  private void indexYamlKey(
-      Map<String, Set<YamlKeyToNullReference>> index, ModuleMetadataService metadataService, YAMLKeyValue kv) {
-    if (kv.getKey() == null) return;
-    String fullName = ReadAction.compute(() -> YAMLUtil.getConfigFullName(kv));
-    // find if any property matches this key
-    MetadataProperty property = metadataService.getIndex().getProperty(fullName);
-    if (property != null) {
-      // It is wierd but ReferencesSearch uses the 'source element' not the 'target element' of the returned PsiReference.
-      // So here we create a YamlKeyToNullReference whose source is the target YamlKey.
-      property.getSourceField().ifPresent(field -> {
-        index.computeIfAbsent(getCanonicalName(field), key -> new ConcurrentSkipListSet<>())
-            .add(new YamlKeyToNullReference(kv));
-      });
-    }
-    // find if any group matches this key
-    MetadataGroup group = metadataService.getIndex().getGroup(fullName);
-    if (group != null) {
-      group.getType().ifPresent(type -> {
-        index.computeIfAbsent(getCanonicalName(type), key -> new ConcurrentSkipListSet<>())
-            .add(new YamlKeyToNullReference(kv));
-      });
+  /**
+   * @return names of groups whose type in metadata is the class, in all modules.
+   */
+  private Set<PropertyName> findGroupNames(String canonicalName) {
+    Set<PropertyName> names = new HashSet<>();
+    for (Module module : ModuleManager.getInstance(project).getModules()) {
+      for (MetadataGroup group : ModuleMetadataService.getInstance(module).getIndex().getGroups().values()) {
+        if (canonicalName.equals(getTypeName(group))) names.add(group.getName());
+      }
     }
-    //recursive into sub-keys
-    @Nullable YAMLValue val = kv.getValue();
-    if (val instanceof YAMLMapping) {
-      ((YAMLMapping) val).getKeyValues().forEach(k -> indexYamlKey(index, metadataService, k));
-    } else if (val instanceof YAMLSequence) {
-      ((YAMLSequence) val).getItems().stream()
-          .flatMap(item -> ReadAction.compute(item::getKeysValues).stream())
-          .forEach(k -> indexYamlKey(index, metadataService, k));
+    return names;
+  }
+
+
+  private MetadataIndex getMetadataIndex(VirtualFile file) {
+    Module module = ModuleUtilCore.findModuleForFile(file, project);
+    return module != null ? ModuleMetadataService.getInstance(module).getIndex() : MetadataIndex.empty(project);
+  }
+
+
+  /**
+   * @return whether the key is a property bound to the field, or a group bound to the class,
+   * in the metadata of the file's module.
+   */
+  private static boolean isBoundTo(
+      MetadataIndex index, PropertyName name, PsiElement psiElement, String canonicalName
+  ) {
+    if (psiElement instanceof PsiField) {
+      MetadataProperty property = index.getProperty(name);
+      return property != null && property.getSourceField()
+          .map(PsiToYamlKeyReferenceService::getCanonicalName)
+          .filter(canonicalName::equals)
+          .isPresent();
+    } else {
+      // Compare the type name in metadata first, to avoid resolving types of unrelated groups.
+      MetadataGroup group = index.getGroup(name);
+      return group != null
+          && canonicalName.equals(getTypeName(group))
+          && group.getType()
+          .map(PsiToYamlKeyReferenceService::getCanonicalName)
+          .filter(canonicalName::equals)
+          .isPresent();
     }
   }
 
 
-  @Nullable
-  private static String getCanonicalName(PsiElement element) {
-    if (element instanceof PsiField) {
-      PsiClass containingClass = ReadAction.compute(() -> ((PsiField) element).getContainingClass());
-      if (containingClass == null) {
-        //Not a standard java field, should not happen
-        return null;
+  private static void collectReferences(List<YamlKeyToNullReference> references, PsiFile psiFile, IntList offsets) {
+    for (int i = 0; i < offsets.size(); i++) {
+      YAMLKeyValue kv = PsiTreeUtil.findElementOfClassAtOffset(psiFile, offsets.getInt(i), YAMLKeyValue.class, true);
+      if (kv != null && kv.getKey() != null) {
+        // It is wierd but ReferencesSearch uses the 'source element' not the 'target element' of the returned PsiReference.
+        // So here we create a YamlKeyToNullReference whose source is the target YamlKey.
+        references.add(new YamlKeyToNullReference(kv));
       }
-      return ReadAction.compute(() -> containingClass.getQualifiedName() + "." + ((PsiField) element).getName());
-    } else if (element instanceof PsiClass) {
-      return ReadAction.compute(() -> ((PsiClass) element).getQualifiedName());
-    } else {
-      throw new UnsupportedOperationException();
     }
   }
 
 
-  private class IndexHolder extends UserDataHolderBase {
-    private final Set<String> fileUrls;
-    private final Collection<VirtualFile> files;
+  private static String getTypeName(MetadataGroup group) {
+    return Objects.requireNonNullElse(group.getMetadata().getType(), "").replace('$', '.');
+  }
 
 
-    private IndexHolder(Collection<VirtualFile> files) {
-      this.files = files;
-      this.fileUrls = files.stream().map(VirtualFile::getUrl)
-          .collect(Collectors.toSet());
-    }
+  private static @Nullable String getLastElement(String key) {
+    PropertyName name = PropertyName.adapt(key);
+    if (name.isEmpty()) return null;
+    return toUniform(name.getElement(name.getNumberOfElements() - 1, UNIFORM));
+  }
 
 
-    public boolean isEquals(Iterable<VirtualFile> files) {
-      return StreamSupport.stream(files.spliterator(), false).map(VirtualFile::getUrl).collect(Collectors.toSet())
-          .equals(this.fileUrls);
+  private static String toUniform(String name) {
+    StringBuilder sb = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (Character.isLetterOrDigit(c)) sb.append(c);
     }
+    return sb.toString().toLowerCase(Locale.ROOT);
+  }
 
 
-    /**
-     * @return A map for {@linkplain #getCanonicalName(PsiElement) canonical} name of a field or class to the YamlKeyValues in application.yaml
-     */
-    public Map<String, Set<YamlKeyToNullReference>> getIndex() {
-      if (files.isEmpty()) return Collections.emptyMap();
-      return CachedValuesManager.getManager(project).getCachedValue(this, () -> {
-        // In this block, we return null at any error, makes this function is **Result equivalence**.
-        Map<String, Set<YamlKeyToNullReference>> index = new HashMap<>();
-        PsiManager psiManager = PsiManager.getInstance(project);
-        for (VirtualFile file : files) {
-          if (!file.isValid()) return null;
-          PsiFile psiFile = ReadAction.compute(() -> psiManager.findFile(file));
-          if (!(psiFile instanceof YAMLFile)) return null;
-          Module module = ModuleUtil.findModuleForFile(psiFile);
-          if (module == null) return null;
-          ModuleMetadataService metadataService = module.getService(ModuleMetadataService.class);
-          Collection<YAMLKeyValue> topLevelKeys = ReadAction.compute(() -> ((YAMLFile) psiFile)
-              .getDocuments().stream()
-              .map(YAMLDocument::getTopLevelValue)
-              .filter(YAMLMapping.class::isInstance)
-              .flatMap(yv -> ((YAMLMapping) yv).getKeyValues().stream())
-              .toList());
-          for (YAMLKeyValue kv : topLevelKeys) {
-            indexYamlKey(index, metadataService, kv);
-          }
-        }
-        return CachedValueProvider.Result.create(index, files);
-      });
+  @Nullable
+  private static String getCanonicalName(PsiElement element) {
+    if (element instanceof PsiField field) {
+      PsiClass containingClass = field.getContainingClass();
+      if (containingClass == null) {
+        //Not a standard java field, should not happen
+        return null;
+      }
+      return containingClass.getQualifiedName() + "." + field.getName();
+    } else if (element instanceof PsiClass psiClass) {
+      return psiClass.getQualifiedName();
+    } else {
+      throw new UnsupportedOperationException();
     }
   }
 }
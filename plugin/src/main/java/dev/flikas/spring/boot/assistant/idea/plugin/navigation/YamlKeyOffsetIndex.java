@@ -0,0 +1,109 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.navigation;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import dev.flikas.spring.boot.assistant.idea.plugin.filetype.SpringBootConfigurationYamlFileType;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.YamlKeyPaths;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.yaml.psi.YAMLFile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.MetadataFileIndex.PLUGIN_INDEX_NAMESPACE;
+
+/**
+ * Index of keys in spring configuration yaml files, from the full name of a key to the start offsets of keys
+ * with this name in the file.
+ */
+public class YamlKeyOffsetIndex extends FileBasedIndexExtension<String, IntList> {
+  public static final ID<String, IntList> NAME = ID.create(
+      PLUGIN_INDEX_NAMESPACE + YamlKeyOffsetIndex.class.getSimpleName());
+
+
+  @Override
+  public @NotNull ID<String, IntList> getName() {
+    return NAME;
+  }
+
+
+  @Override
+  public @NotNull DataIndexer<String, IntList, FileContent> getIndexer() {
+    return inputData -> {
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof YAMLFile)) return Collections.emptyMap();
+      Map<String, IntList> keys = new HashMap<>();
+      // Do not use YamlKeyPaths#getFullName here, it caches the names on the PSI, that is thrown away after indexing.
+      YamlKeyPaths.buildFullNames(psiFile).forEach((kv, fullName) -> {
+        if (kv.getKey() == null || StringUtils.isBlank(fullName)) return;
+        keys.computeIfAbsent(fullName, k -> new IntArrayList(1)).add(kv.getTextRange().getStartOffset());
+      });
+      return keys;
+    };
+  }
+
+
+  @Override
+  public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+
+  @Override
+  public @NotNull DataExternalizer<IntList> getValueExternalizer() {
+    return new DataExternalizer<>() {
+      @Override
+      public void save(@NotNull DataOutput out, IntList value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (int i = 0; i < value.size(); i++) {
+          DataInputOutputUtil.writeINT(out, value.getInt(i));
+        }
+      }
+
+
+      @Override
+      public IntList read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        IntList value = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+          value.add(DataInputOutputUtil.readINT(in));
+        }
+        return value;
+      }
+    };
+  }
+
+
+  @Override
+  public int getVersion() {
+    return 1;
+  }
+
+
+  @Override
+  public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+    return new DefaultFileTypeSpecificInputFilter(SpringBootConfigurationYamlFileType.INSTANCE);
+  }
+
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+}
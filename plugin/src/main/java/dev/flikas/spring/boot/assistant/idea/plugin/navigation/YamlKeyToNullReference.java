@@ -1,7 +1,7 @@
 package dev.flikas.spring.boot.assistant.idea.plugin.navigation;
 
-import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReferenceBase;
@@ -14,11 +14,20 @@ public class YamlKeyToNullReference extends PsiReferenceBase<YamlKeyToNullRefere
     implements Comparable<YamlKeyToNullReference> {
   @NotNull
   private final YAMLKeyValue yamlKeyValue;
+  /**
+   * Path of the containing file and offset of the key in it, for ordering references without touching PSI.
+   */
+  @NotNull
+  private final String filePath;
+  private final int offset;
 
 
   public YamlKeyToNullReference(@NotNull YAMLKeyValue yamlKeyValue) {
     super(new YamlKeyIdentifier(yamlKeyValue), getTextRange(yamlKeyValue), true);
     this.yamlKeyValue = yamlKeyValue;
+    VirtualFile file = yamlKeyValue.getContainingFile().getVirtualFile();
+    this.filePath = file != null ? file.getPath() : "";
+    this.offset = yamlKeyValue.getTextRange().getStartOffset();
   }
 
 
@@ -30,11 +39,8 @@ public class YamlKeyToNullReference extends PsiReferenceBase<YamlKeyToNullRefere
 
   @Override
   public int compareTo(@NotNull YamlKeyToNullReference o) {
-    if (this.equals(o)) {
-      return 0;
-    } else {
-      return this.yamlKeyValue.hashCode() - o.yamlKeyValue.hashCode();
-    }
+    int result = this.filePath.compareTo(o.filePath);
+    return result != 0 ? result : Integer.compare(this.offset, o.offset);
   }
 
 
@@ -70,7 +76,7 @@ public class YamlKeyToNullReference extends PsiReferenceBase<YamlKeyToNullRefere
 
 
     public YamlKeyIdentifier(YAMLKeyValue kv) {
-      super(kv.getManager(), ReadAction.compute(kv::getText));
+      super(kv.getManager(), kv.getText());
       this.myElement = kv;
     }
 
@@ -2,18 +2,26 @@ package dev.flikas.spring.boot.assistant.idea.plugin.navigation;
 
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataItem;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataProperty;
 import dev.flikas.spring.boot.assistant.idea.plugin.metadata.service.ModuleMetadataService;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.PsiTypeUtils;
+import dev.flikas.spring.boot.assistant.idea.plugin.misc.YamlKeyPaths;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.yaml.YAMLUtil;
 import org.jetbrains.yaml.psi.YAMLKeyValue;
 
 public class YamlKeyToPsiReference extends PsiReferenceBase<PsiElement> {
+  private static final Key<CachedValue<PsiElement>> RESOLVE_CACHE_KEY =
+      Key.create("spring-boot-assistant.navigation.yaml-key-resolve");
   @NotNull
   private final YAMLKeyValue yamlKeyValue;
   @Nullable
@@ -34,8 +42,17 @@ public class YamlKeyToPsiReference extends PsiReferenceBase<PsiElement> {
     }
 
     ModuleMetadataService metadataService = module.getService(ModuleMetadataService.class);
+    // The key is resolved again only if the yaml file, the module's metadata or the java code is changed.
+    return CachedValuesManager.getManager(yamlKeyValue.getProject()).getCachedValue(yamlKeyValue, RESOLVE_CACHE_KEY,
+        () -> CachedValueProvider.Result.create(resolve(metadataService), yamlKeyValue,
+            metadataService.getModificationTracker(),
+            PsiTypeUtils.getJavaStructureModificationTracker(yamlKeyValue.getProject())), false);
+  }
+
+
+  private @Nullable PsiElement resolve(ModuleMetadataService metadataService) {
     MetadataIndex metadata = metadataService.getIndex();
-    String fullName = YAMLUtil.getConfigFullName(yamlKeyValue);
+    PropertyName fullName = YamlKeyPaths.getPropertyName(yamlKeyValue);
 
     MetadataItem propertyOrGroup = metadata.getPropertyOrGroup(fullName);
     if (propertyOrGroup == null) return null;
@@ -0,0 +1,55 @@
+package dev.flikas.spring.boot.assistant.idea.plugin;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ * Base of tests that need a light project with this plugin loaded, e.g. to parse configuration files.
+ * <p>
+ * The fixture is set up, torn down and changes files in EDT, tests read PSI in read actions.
+ */
+public abstract class LightFixtureTestBase {
+  protected CodeInsightTestFixture fixture;
+
+
+  @BeforeEach
+  void setUpFixture(TestInfo testInfo) throws Exception {
+    IdeaTestFixtureFactory factory = IdeaTestFixtureFactory.getFixtureFactory();
+    TestFixtureBuilder<IdeaProjectTestFixture> builder = factory.createLightFixtureBuilder(
+        LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR, getClass().getSimpleName() + "." + testInfo.getDisplayName());
+    fixture = factory.createCodeInsightFixture(builder.getFixture());
+    EdtTestUtil.runInEdtAndWait(() -> fixture.setUp());
+  }
+
+
+  @AfterEach
+  void tearDownFixture() throws Exception {
+    EdtTestUtil.runInEdtAndWait(() -> fixture.tearDown());
+  }
+
+
+  protected Project getProject() {
+    return fixture.getProject();
+  }
+
+
+  protected PsiFile configureByText(String fileName, String text) {
+    return EdtTestUtil.runInEdtAndGet(() -> fixture.configureByText(fileName, text));
+  }
+
+
+  protected static <T> T read(ThrowableComputable<T, RuntimeException> computable) {
+    return ReadAction.compute(computable);
+  }
+}
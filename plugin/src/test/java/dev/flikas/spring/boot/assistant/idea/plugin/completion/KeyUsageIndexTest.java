@@ -0,0 +1,41 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.completion;
+
+import dev.flikas.spring.boot.assistant.idea.plugin.LightFixtureTestBase;
+import org.jetbrains.yaml.psi.YAMLFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeyUsageIndexTest extends LightFixtureTestBase {
+
+  @Test
+  void countUsages() {
+    YAMLFile file = (YAMLFile) configureByText("application.yaml", """
+        spring:
+          datasource:
+            url: jdbc:h2:mem:test
+            username: sa
+          datasource.password: secret
+        server.port: 8080
+        servers:
+          - host: a
+        ---
+        spring:
+          datasource:
+            url: jdbc:h2:mem:other
+        """);
+    assertEquals(Map.ofEntries(
+        entry("spring", 2),
+        entry("spring.datasource", 3),
+        entry("spring.datasource.url", 2),
+        entry("spring.datasource.username", 1),
+        entry("spring.datasource.password", 1),
+        entry("server", 1),
+        entry("server.port", 1),
+        entry("servers", 1)
+    ), read(() -> KeyUsageIndex.countUsages(file)));
+  }
+}
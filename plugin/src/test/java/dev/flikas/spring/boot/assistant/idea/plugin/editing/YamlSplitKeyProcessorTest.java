@@ -0,0 +1,48 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.editing;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.testFramework.EdtTestUtil;
+import dev.flikas.spring.boot.assistant.idea.plugin.LightFixtureTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class YamlSplitKeyProcessorTest extends LightFixtureTestBase {
+
+  @Test
+  void indentLinesOfRange() {
+    String text = """
+        a:
+          b: 1
+          c: 2
+        d: 3
+        """;
+    int start = text.indexOf("b:");
+    int end = text.indexOf("2") + 1;
+    assertEquals("""
+        a:
+            b: 1
+            c: 2
+        d: 3
+        """, indentLines(text, new TextRange(start, end), 2));
+  }
+
+
+  @Test
+  void indentLinesOfSingleLineRange() {
+    String text = "a.b: [1, 2]\nc: 3\n";
+    int start = text.indexOf('[');
+    assertEquals("a.b:   [1, 2]\nc: 3\n", indentLines(text, new TextRange(start, text.indexOf(']') + 1), 2));
+  }
+
+
+  private String indentLines(String text, TextRange range, int indentSize) {
+    Document document = EditorFactory.getInstance().createDocument(text);
+    EdtTestUtil.runInEdtAndWait(() -> WriteCommandAction.runWriteCommandAction(getProject(),
+        () -> YamlSplitKeyProcessor.indentLines(document, range, indentSize)));
+    return document.getText();
+  }
+}
@@ -0,0 +1,87 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.inspection;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiField;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvalidValueInspectionTest {
+
+  @Test
+  void enumValidatorIsRelaxed() {
+    InvalidValueInspection.Validator validator =
+        InvalidValueInspection.createEnumValidator(psiClass(true, constant("SOME_VALUE"), constant("OTHER")));
+    assertTrue(validator.isValid("SOME_VALUE"));
+    assertTrue(validator.isValid("some-value"));
+    assertTrue(validator.isValid("someValue"));
+    assertTrue(validator.isValid("some_value"));
+    assertTrue(validator.isValid("other"));
+    assertFalse(validator.isValid("some-values"));
+    assertFalse(validator.isValid("none"));
+  }
+
+
+  @Test
+  void enumValidatorAcceptsBlankValue() {
+    InvalidValueInspection.Validator validator =
+        InvalidValueInspection.createEnumValidator(psiClass(true, constant("SOME_VALUE")));
+    assertTrue(validator.isValid(""));
+    assertTrue(validator.isValid("  "));
+  }
+
+
+  @Test
+  void enumValidatorIgnoresFieldsThatAreNotConstants() {
+    InvalidValueInspection.Validator validator =
+        InvalidValueInspection.createEnumValidator(psiClass(true, constant("SOME_VALUE"), field("INSTANCES")));
+    assertFalse(validator.isValid("instances"));
+  }
+
+
+  @Test
+  void enumValidatorCannotValidateOtherTypes() {
+    InvalidValueInspection.Validator validator =
+        InvalidValueInspection.createEnumValidator(psiClass(false, field("SOME_VALUE")));
+    assertTrue(validator.isValid("anything"));
+    assertTrue(InvalidValueInspection.createEnumValidator(null).isValid("anything"));
+  }
+
+
+  private static PsiClass psiClass(boolean isEnum, PsiField... fields) {
+    return (PsiClass) Proxy.newProxyInstance(getClassLoader(), new Class<?>[]{PsiClass.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "isEnum" -> isEnum;
+          case "getFields" -> fields;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+
+  private static PsiField constant(String name) {
+    return named(PsiEnumConstant.class, name);
+  }
+
+
+  private static PsiField field(String name) {
+    return named(PsiField.class, name);
+  }
+
+
+  private static PsiField named(Class<? extends PsiField> type, String name) {
+    return (PsiField) Proxy.newProxyInstance(getClassLoader(), new Class<?>[]{type},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "getName" -> name;
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+
+
+  private static ClassLoader getClassLoader() {
+    return InvalidValueInspectionTest.class.getClassLoader();
+  }
+}
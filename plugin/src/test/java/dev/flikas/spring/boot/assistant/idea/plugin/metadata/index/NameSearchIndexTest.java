@@ -0,0 +1,75 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameSearchIndexTest {
+  private static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+  private static final String URL = "spring.datasource.url";
+  private static final String PORT = "server.port";
+
+
+  @Test
+  void matches() {
+    assertTrue(NameSearchIndex.matches("hikari", POOL_SIZE));
+    assertTrue(NameSearchIndex.matches("HikariMax", POOL_SIZE));
+    assertTrue(NameSearchIndex.matches("maxpool", POOL_SIZE));
+    assertTrue(NameSearchIndex.matches("max-pool", POOL_SIZE));
+    assertTrue(NameSearchIndex.matches("sdu", URL));
+    assertTrue(NameSearchIndex.matches("", URL));
+    assertFalse(NameSearchIndex.matches("poolmax", POOL_SIZE));
+    assertFalse(NameSearchIndex.matches("xyz", POOL_SIZE));
+  }
+
+
+  @Test
+  void search() {
+    NameSearchIndex<String> index = NameSearchIndex.<String>builder()
+        .add(PORT, PORT).add(URL, URL).add(POOL_SIZE, POOL_SIZE).build();
+    assertEquals(List.of(POOL_SIZE), index.search("hikari"));
+    assertEquals(List.of(POOL_SIZE), index.search("maxpool"));
+    assertEquals(List.of(URL), index.search("sdu"));
+    assertEquals(List.of(PORT), index.search("port"));
+    assertEquals(List.of(POOL_SIZE, URL), index.search("datasource"));
+    assertEquals(List.of(PORT, POOL_SIZE, URL), index.search("s"));
+    assertTrue(index.search("xyz").isEmpty());
+    assertTrue(index.search("").isEmpty());
+  }
+
+
+  @Test
+  void searchShortQueryBySubstring() {
+    NameSearchIndex<String> index = NameSearchIndex.<String>builder()
+        .add(PORT, PORT).add(URL, URL).add(POOL_SIZE, POOL_SIZE).build();
+    assertTrue(NameSearchIndex.matches("rt", PORT));
+    assertEquals(List.of(PORT), index.search("rt"));
+    assertEquals(List.of(POOL_SIZE), index.search("ik"));
+    assertEquals(List.of(PORT, POOL_SIZE, URL), index.search("r"));
+    assertEquals(List.of(URL), index.search("spring.datasource.", "rl"));
+    assertTrue(index.search("spring.", "rt").isEmpty());
+  }
+
+
+  @Test
+  void searchUnderPath() {
+    NameSearchIndex<String> index = NameSearchIndex.<String>builder()
+        .add(PORT, PORT).add(URL, URL).add(POOL_SIZE, POOL_SIZE).build();
+    assertEquals(List.of(POOL_SIZE, URL), index.search("spring.", "s"));
+    assertEquals(List.of(POOL_SIZE), index.search("spring.datasource.hikari.", "max"));
+    assertTrue(index.search("spring.", "port").isEmpty());
+    assertTrue(index.search("management.", "s").isEmpty());
+  }
+
+
+  @Test
+  void matchesManyWordsInPolynomialTime() {
+    String name = "a-".repeat(40) + "b";
+    assertFalse(NameSearchIndex.matches("a".repeat(30) + "c", name));
+    assertTrue(NameSearchIndex.matches("a".repeat(30) + "b", name));
+  }
+}
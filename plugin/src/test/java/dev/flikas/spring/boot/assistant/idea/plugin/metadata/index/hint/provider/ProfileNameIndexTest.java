@@ -0,0 +1,21 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProfileNameIndexTest {
+
+  @Test
+  void getProfileOfFileName() {
+    assertEquals("dev", ProfileNameIndex.getProfileOfFileName("application-dev.yaml"));
+    assertEquals("dev", ProfileNameIndex.getProfileOfFileName("application-dev.yml"));
+    assertEquals("cloud", ProfileNameIndex.getProfileOfFileName("bootstrap-cloud.yml"));
+    assertEquals("us-east", ProfileNameIndex.getProfileOfFileName("application-us-east.yaml"));
+    assertNull(ProfileNameIndex.getProfileOfFileName("application.yaml"));
+    assertNull(ProfileNameIndex.getProfileOfFileName("application-.yaml"));
+    assertNull(ProfileNameIndex.getProfileOfFileName("application-dev.properties"));
+    assertNull(ProfileNameIndex.getProfileOfFileName("my-application-dev.yaml"));
+  }
+}
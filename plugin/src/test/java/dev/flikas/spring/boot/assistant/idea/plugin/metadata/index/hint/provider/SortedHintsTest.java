@@ -0,0 +1,74 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import com.intellij.codeInsight.completion.PlainPrefixMatcher;
+import com.intellij.codeInsight.completion.PrefixMatcher;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.Hint;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SortedHintsTest {
+  private static final SortedHints HINTS = new SortedHints(Stream.of("zh_CN", "en_US", "en_GB", "en", "US", "en_US")
+      .map(SortedHintsTest::hint)
+      .toList());
+
+
+  @Test
+  void matchAll() {
+    assertEquals(List.of("en", "en_GB", "en_US", "US", "zh_CN"), values(HINTS.match(new PlainPrefixMatcher(""))));
+  }
+
+
+  @Test
+  void matchPrefix() {
+    assertEquals(List.of("en", "en_GB", "en_US"), values(HINTS.match(new PlainPrefixMatcher("EN", true))));
+    assertEquals(List.of("zh_CN"), values(HINTS.match(new PlainPrefixMatcher("zh", true))));
+    assertEquals(List.of(), values(HINTS.match(new PlainPrefixMatcher("fr", true))));
+  }
+
+
+  @Test
+  void literalPrefixMatchesGoFirst() {
+    // Matches the prefix anywhere in the value, like matchers that match camel-humps or word starts.
+    assertEquals(List.of("US", "en_US"), values(HINTS.match(new ContainsMatcher("us"))));
+    assertEquals(List.of("en_GB", "en_US", "zh_CN"), values(HINTS.match(new ContainsMatcher("_"))));
+  }
+
+
+  private static Hint hint(String value) {
+    return new Hint(value, null, null, null, null, null);
+  }
+
+
+  private static List<String> values(List<Hint> hints) {
+    return hints.stream().map(Hint::value).toList();
+  }
+
+
+  /**
+   * Matches values that contain the prefix case-insensitively.
+   */
+  private static class ContainsMatcher extends PrefixMatcher {
+
+    private ContainsMatcher(String prefix) {
+      super(prefix);
+    }
+
+
+    @Override
+    public boolean prefixMatches(@NotNull String name) {
+      return name.toLowerCase(Locale.ROOT).contains(getPrefix());
+    }
+
+
+    @Override
+    public @NotNull PrefixMatcher cloneWithPrefix(@NotNull String prefix) {
+      return new ContainsMatcher(prefix);
+    }
+  }
+}
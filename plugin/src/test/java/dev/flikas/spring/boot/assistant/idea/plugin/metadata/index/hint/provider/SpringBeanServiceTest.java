@@ -0,0 +1,17 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.hint.provider;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpringBeanServiceTest {
+
+  @Test
+  void getDefaultBeanName() {
+    assertEquals("myService", SpringBeanService.getDefaultBeanName("MyService"));
+    assertEquals("a", SpringBeanService.getDefaultBeanName("A"));
+    assertEquals("URLService", SpringBeanService.getDefaultBeanName("URLService"));
+    assertEquals("myService", SpringBeanService.getDefaultBeanName("myService"));
+    assertEquals("outer.Inner", SpringBeanService.getDefaultBeanName("Outer.Inner"));
+  }
+}
@@ -0,0 +1,71 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.metadata.service;
+
+import dev.flikas.spring.boot.assistant.idea.plugin.LightFixtureTestBase;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.MetadataIndex;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.index.NameTreeNode;
+import dev.flikas.spring.boot.assistant.idea.plugin.metadata.source.PropertyName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyMetadataIndexTest extends LightFixtureTestBase {
+  private static final PropertyName BASE_NAME = PropertyName.of("spring.security");
+
+  private final AtomicInteger generated = new AtomicInteger();
+  private LazyMetadataIndex index;
+
+
+  @BeforeEach
+  void setUp() {
+    index = new LazyMetadataIndex(getProject(), BASE_NAME, () -> {
+      generated.incrementAndGet();
+      return MetadataIndex.empty(getProject());
+    });
+  }
+
+
+  @Test
+  void lookupsOutsideBaseNameDoNotGenerate() {
+    PropertyName other = PropertyName.of("server.port");
+    assertNull(index.getProperty(other));
+    assertNull(index.getGroup(other));
+    assertNull(index.getHint(other));
+    assertNull(index.getPropertyOrGroup(other));
+    assertNull(index.getNearestParentProperty(other));
+    assertNull(index.findInNameTrie(other));
+    assertTrue(index.searchByName(PropertyName.EMPTY, "user").isEmpty());
+    assertTrue(index.getGroups().isEmpty());
+    assertEquals(0, generated.get());
+  }
+
+
+  @Test
+  void trieNodesOfAncestorsDeferGeneration() {
+    NameTreeNode root = index.findInNameTrie(PropertyName.EMPTY);
+    assertNotNull(root);
+    assertNotNull(index.findInNameTrie(PropertyName.of("spring")));
+    NameTreeNode base = root.findChild(BASE_NAME);
+    assertNotNull(base);
+    assertTrue(base.isIndexed());
+    assertEquals(0, generated.get());
+    // Descending into the node of the base name generates the index.
+    base.getChildren();
+    assertEquals(1, generated.get());
+  }
+
+
+  @Test
+  void lookupsUnderBaseNameGenerateOnce() {
+    assertNull(index.getProperty(PropertyName.of("spring.security.user.name")));
+    assertEquals(1, generated.get());
+    assertNull(index.getProperty(PropertyName.of("spring.security.user.password")));
+    assertNull(index.findInNameTrie(BASE_NAME));
+    assertEquals(1, generated.get());
+  }
+}
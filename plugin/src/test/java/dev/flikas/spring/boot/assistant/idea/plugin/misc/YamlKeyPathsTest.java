@@ -0,0 +1,52 @@
+package dev.flikas.spring.boot.assistant.idea.plugin.misc;
+
+import com.intellij.psi.PsiFile;
+import dev.flikas.spring.boot.assistant.idea.plugin.LightFixtureTestBase;
+import org.jetbrains.yaml.YAMLUtil;
+import org.jetbrains.yaml.psi.YAMLKeyValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class YamlKeyPathsTest extends LightFixtureTestBase {
+  private static final String YAML = """
+      spring:
+        datasource:
+          url: jdbc:h2:mem:test
+        profiles.active: dev
+      servers:
+        - host: a
+          ports:
+            - 80
+            - 443
+        - host: b
+      """;
+
+
+  @Test
+  void buildFullNames() {
+    PsiFile file = configureByText("application.yaml", YAML);
+    Map<YAMLKeyValue, String> names = read(() -> YamlKeyPaths.buildFullNames(file));
+    assertEquals(Set.of(
+        "spring", "spring.datasource", "spring.datasource.url", "spring.profiles.active",
+        "servers", "servers[0].host", "servers[0].ports", "servers[1].host"
+    ), new TreeSet<>(names.values()));
+  }
+
+
+  @Test
+  void fullNamesAreSameAsYamlUtil() {
+    PsiFile file = configureByText("application.yaml", YAML);
+    read(() -> {
+      YamlKeyPaths.buildFullNames(file).forEach((keyValue, name) -> {
+        assertEquals(YAMLUtil.getConfigFullName(keyValue), name);
+        assertEquals(name, YamlKeyPaths.getFullName(keyValue));
+      });
+      return null;
+    });
+  }
+}